@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Startup time and time to first request of the packaged backend, in three modes:
+#   jar      java -jar on the uber jar, as the default Dockerfile runs it
+#   cds      the extracted jar with a CDS archive recorded by a training run
+#   aot-cds  the same plus the Spring AOT code generated by the fast-startup profile
+# "started" is Spring's "Started ... in N seconds"; "first request" is the time from launching the
+# JVM until GET /actuator/health first answers 200.
+#
+# Usage: mvn -Pfast-startup -DskipTests package && scripts/measure-startup.sh [runs per mode]
+# The usual SPRING_DATASOURCE_URL/USERNAME/PASSWORD and JWT_SECRET must point at a reachable
+# database; MEASURE_PORT (default 18080) is the port the application is started on.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+PORT=${MEASURE_PORT:-18080}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+WORK=target/startup
+JAR=$(ls target/*.jar | head -n 1)
+
+if ! unzip -l "$JAR" | grep -q '__ApplicationContextInitializer'; then
+    echo "$JAR has no AOT code; build it with mvn -Pfast-startup -DskipTests package" >&2
+    exit 1
+fi
+
+rm -rf "$WORK"
+mkdir -p "$WORK"
+"$JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$WORK/extracted"
+APP="$WORK/extracted/$(basename "$JAR")"
+
+# Training runs: start the context, record the loaded classes and exit once it is refreshed
+"$JAVA" -XX:ArchiveClassesAtExit="$WORK/cds.jsa" -Dspring.context.exit=onRefresh \
+    -jar "$APP" --server.port="$PORT" > "$WORK/training-cds.log" 2>&1
+"$JAVA" -XX:ArchiveClassesAtExit="$WORK/aot-cds.jsa" -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+    -jar "$APP" --server.port="$PORT" > "$WORK/training-aot-cds.log" 2>&1
+
+command_for() {
+    case "$1" in
+        jar) echo "$JAVA -jar $JAR" ;;
+        cds) echo "$JAVA -XX:SharedArchiveFile=$WORK/cds.jsa -jar $APP" ;;
+        aot-cds) echo "$JAVA -XX:SharedArchiveFile=$WORK/aot-cds.jsa -Dspring.aot.enabled=true -jar $APP" ;;
+    esac
+}
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2 ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+printf '%-8s %4s %12s %18s\n' mode run "started (s)" "first request (ms)"
+for mode in jar cds aot-cds; do
+    : > "$WORK/$mode.started"
+    : > "$WORK/$mode.first-request"
+    for run in $(seq 1 "$RUNS"); do
+        log="$WORK/$mode-$run.log"
+        start=$(now_ms)
+        $(command_for "$mode") --server.port="$PORT" > "$log" 2>&1 &
+        pid=$!
+        until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health"; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$mode run $run exited early, see $log" >&2
+                exit 1
+            fi
+            sleep 0.02
+        done
+        first_request=$(( $(now_ms) - start ))
+        started=$(grep -o 'Started ProjectTasksManagerApplication in [0-9.]*' "$log" | awk '{ print $4 }')
+        kill "$pid"
+        wait "$pid" || true
+
+        echo "$started" >> "$WORK/$mode.started"
+        echo "$first_request" >> "$WORK/$mode.first-request"
+        printf '%-8s %4d %12s %18d\n' "$mode" "$run" "$started" "$first_request"
+    done
+done
+
+echo
+printf '%-8s %12s %18s\n' median "started (s)" "first request (ms)"
+for mode in jar cds aot-cds; do
+    printf '%-8s %12s %18s\n' "$mode" "$(median < "$WORK/$mode.started")" "$(median < "$WORK/$mode.first-request")"
+done
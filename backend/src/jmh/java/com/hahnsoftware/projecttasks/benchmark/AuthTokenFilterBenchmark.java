@@ -0,0 +1,53 @@
+package com.hahnsoftware.projecttasks.benchmark;
+
+import com.hahnsoftware.projecttasks.security.AuthTokenFilter;
+import com.hahnsoftware.projecttasks.security.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass through the JWT filter for an authenticated request: header parsing, token
+ * validation and building the security context from the claims (no user lookup).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthTokenFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"0", "10000"})
+    private int cacheSize;
+
+    private AuthTokenFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = BenchmarkFixtures.jwtUtils(cacheSize);
+        // Tokens carry the user id, so the user details service is never consulted
+        filter = new AuthTokenFilter(jwtUtils, null, new SimpleMeterRegistry());
+        authorization = "Bearer " + jwtUtils.generateToken(BenchmarkFixtures.authentication());
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        // A fresh request each time: OncePerRequestFilter skips requests it has already seen
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/projects");
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
@@ -0,0 +1,90 @@
+package com.hahnsoftware.projecttasks.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahnsoftware.projecttasks.dto.ProjectResponseDTO;
+import com.hahnsoftware.projecttasks.model.Project;
+import com.hahnsoftware.projecttasks.model.Task;
+import com.hahnsoftware.projecttasks.model.User;
+import com.hahnsoftware.projecttasks.security.JwtUtils;
+import com.hahnsoftware.projecttasks.security.UserDetailsImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Objects wired the way the application context would, without starting it.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtUtils jwtUtils(int cacheSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheSize", cacheSize);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    static Authentication authentication() {
+        UserDetailsImpl principal = new UserDetailsImpl(42L, "bench@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    /**
+     * Same modules and defaults as the Boot-configured mapper (JavaTimeModule etc.).
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    /**
+     * As {@link #objectMapper()}, writing another encoding (e.g. CBOR or Smile) like BinaryFormatsConfig.
+     */
+    static ObjectMapper objectMapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json().factory(factory).build();
+    }
+
+    static List<Task> tasks(int count) {
+        User user = new User();
+        user.setId(42L);
+        Project project = new Project();
+        project.setId(7L);
+        project.setTitle("Benchmark project");
+        project.setUser(user);
+
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i + " with a few more words to be realistic");
+            task.setCompleted(i % 3 == 0);
+            task.setProject(project);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    static List<ProjectResponseDTO> projects(int count) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<ProjectResponseDTO> projects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            projects.add(new ProjectResponseDTO((long) i, "Project " + i, "Description of project " + i,
+                    createdAt.plusMinutes(i), 25, i % 25));
+        }
+        return projects;
+    }
+}
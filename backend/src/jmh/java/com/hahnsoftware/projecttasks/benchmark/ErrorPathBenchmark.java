@@ -0,0 +1,97 @@
+package com.hahnsoftware.projecttasks.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahnsoftware.projecttasks.exception.ErrorResponseWriter;
+import com.hahnsoftware.projecttasks.exception.ResourceNotFoundException;
+import com.hahnsoftware.projecttasks.security.AuthEntryPointJwt;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.AuthenticationException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-failure cost of the two most frequent error responses. {@code throw*} throw from
+ * {@code depth} frames below the catch, roughly where a service sits under Tomcat, the security
+ * chain and Spring MVC, comparing the plain RuntimeException used before with the stackless
+ * domain exceptions. {@code unauthorized*} write a 401 body the way AuthEntryPointJwt did before
+ * (a new ObjectMapper and map per response) and the way it does now through ErrorResponseWriter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+
+    private static final String MESSAGE = "Project not found or access denied";
+
+    private AuthEntryPointJwt entryPoint;
+    private AuthenticationException authException;
+
+    @Setup
+    public void setUp() {
+        entryPoint = new AuthEntryPointJwt(new ErrorResponseWriter(BenchmarkFixtures.objectMapper()));
+        authException = new InsufficientAuthenticationException(
+                "Full authentication is required to access this resource");
+    }
+
+    @State(Scope.Benchmark)
+    public static class Stack {
+        @Param({"0", "150"})
+        int depth;
+    }
+
+    @Benchmark
+    public String throwRuntimeException(Stack stack) {
+        try {
+            return descend(stack.depth, false);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String throwDomainException(Stack stack) {
+        try {
+            return descend(stack.depth, true);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public int unauthorizedBefore() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/projects/1/tasks");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType("application/json");
+        response.setStatus(401);
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", 401);
+        body.put("error", "Unauthorized");
+        body.put("message", authException.getMessage());
+        body.put("path", request.getServletPath());
+        new ObjectMapper().writeValue(response.getOutputStream(), body);
+        return response.getContentLength() + response.getContentAsByteArray().length;
+    }
+
+    @Benchmark
+    public int unauthorized() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/projects/1/tasks");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        entryPoint.commence(request, response, authException);
+        return response.getContentLength() + response.getContentAsByteArray().length;
+    }
+
+    private static String descend(int remaining, boolean domain) {
+        if (remaining > 0) {
+            return descend(remaining - 1, domain);
+        }
+        throw domain ? new ResourceNotFoundException(MESSAGE) : new RuntimeException(MESSAGE);
+    }
+}
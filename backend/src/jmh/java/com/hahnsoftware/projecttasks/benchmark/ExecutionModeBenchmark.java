@@ -0,0 +1,274 @@
+package com.hahnsoftware.projecttasks.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hahnsoftware.projecttasks.ProjectTasksManagerApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares platform-thread and virtual-thread request handling at high concurrency. The
+ * application is started twice against the same embedded PostgreSQL, once per mode, and hammered
+ * by {@code load.clients} concurrent clients (each on its own virtual thread) issuing a read-heavy
+ * mix of project and task listings plus task updates. Throughput, latency percentiles and the
+ * number of requests shed by the concurrency limit are logged and written to
+ * {@code target/load-benchmark/execution-mode-<timestamp>.json}.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test -Dtest=ExecutionModeBenchmark}; tune with
+ * {@code load.clients}, {@code load.warmup-seconds}, {@code load.duration-seconds} and
+ * {@code load.max-in-flight}.
+ */
+class ExecutionModeBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeBenchmark.class);
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 1000);
+    private static final int USERS = 8;
+    private static final int PROJECTS_PER_USER = 5;
+    private static final int TASKS_PER_PROJECT = 200;
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 30);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 200);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("timestamp", Instant.now().toString());
+        ObjectNode config = report.putObject("config");
+        config.put("clients", CLIENTS);
+        config.put("maxInFlight", MAX_IN_FLIGHT);
+        config.put("warmupSeconds", WARMUP_SECONDS);
+        config.put("durationSeconds", DURATION_SECONDS);
+        ObjectNode modes = report.putObject("modes");
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            for (boolean virtual : new boolean[]{false, true}) {
+                String mode = virtual ? "virtual" : "platform";
+                try (ConfigurableApplicationContext context = start(postgres, virtual)) {
+                    int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                    List<Session> sessions = seed(port, mode);
+
+                    logger.info("[{}] warming up for {}s with {} clients", mode, WARMUP_SECONDS, CLIENTS);
+                    drive(port, sessions, WARMUP_SECONDS);
+                    logger.info("[{}] measuring for {}s with {} clients", mode, DURATION_SECONDS, CLIENTS);
+                    long start = System.nanoTime();
+                    List<long[]> results = drive(port, sessions, DURATION_SECONDS);
+                    modes.set(mode, summarize(mode, results, (System.nanoTime() - start) / 1e9));
+                }
+            }
+        }
+
+        Path output = Path.of("target", "load-benchmark",
+                "execution-mode-" + Instant.now().toString().replace(':', '-') + ".json");
+        Files.createDirectories(output.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        logger.info("Execution mode comparison written to {}", output.toAbsolutePath());
+
+        assertTrue(modes.get("platform").get("requests").asLong() > 0, "no requests completed");
+        assertTrue(modes.get("virtual").get("requests").asLong() > 0, "no requests completed");
+    }
+
+    private ConfigurableApplicationContext start(EmbeddedPostgres postgres, boolean virtual) {
+        // Command-line arguments, so they override application.properties
+        return new SpringApplicationBuilder(ProjectTasksManagerApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--jwt.secret=" + BenchmarkFixtures.SECRET,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--search.rebuild-on-startup=false",
+                        "--spring.jmx.enabled=false",
+                        "--rate-limit.auth.requests-per-second=0",
+                        "--rate-limit.api.requests-per-second=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--concurrency.max-in-flight=" + MAX_IN_FLIGHT);
+    }
+
+    private List<Session> seed(int port, String mode) throws Exception {
+        List<Session> sessions = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            String credentials = objectMapper.writeValueAsString(
+                    Map.of("email", mode + "-" + u + "@benchmark.local", "password", "benchmark-" + u));
+            send(port, "POST", "/auth/register", null, credentials);
+            String token = json(send(port, "POST", "/auth/login", null, credentials)).get("token").asText();
+
+            for (int p = 0; p < PROJECTS_PER_USER; p++) {
+                long projectId = json(send(port, "POST", "/projects", token,
+                        objectMapper.writeValueAsString(Map.of("title", "Project " + p)))).get("id").asLong();
+                ArrayNode operations = objectMapper.createArrayNode();
+                for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                    operations.addObject().put("op", "CREATE").put("title", "Task " + t);
+                }
+                ObjectNode batch = objectMapper.createObjectNode();
+                batch.set("operations", operations);
+                JsonNode created = json(send(port, "POST", "/projects/" + projectId + "/tasks/batch", token,
+                        objectMapper.writeValueAsString(batch)));
+
+                long[] taskIds = new long[TASKS_PER_PROJECT];
+                for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                    taskIds[t] = created.get("results").get(t).get("id").asLong();
+                }
+                sessions.add(new Session(token, projectId, taskIds));
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Each client loops until the deadline; returns per-client {latencyNanos..., status...} pairs.
+     */
+    private List<long[]> drive(int port, List<Session> sessions, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[]>> futures = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                Session session = sessions.get(c % sessions.size());
+                futures.add(clients.submit(() -> {
+                    long[] samples = new long[256];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = request(port, session).statusCode();
+                        } catch (IOException e) {
+                            status = 0;
+                        }
+                        if (count + 2 > samples.length) {
+                            samples = Arrays.copyOf(samples, samples.length * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                        samples[count++] = status;
+                    }
+                    return Arrays.copyOf(samples, count);
+                }));
+            }
+            List<long[]> results = new ArrayList<>(CLIENTS);
+            for (Future<long[]> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+    }
+
+    private HttpResponse<String> request(int port, Session session) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(100);
+        if (roll < 40) {
+            return send(port, "GET", "/projects", session.token, null);
+        }
+        if (roll < 90) {
+            return send(port, "GET", "/projects/" + session.projectId + "/tasks", session.token, null);
+        }
+        long taskId = session.taskIds[random.nextInt(session.taskIds.length)];
+        return send(port, "PUT", "/projects/" + session.projectId + "/tasks/" + taskId, session.token,
+                "{\"title\":\"Task " + taskId + "\",\"completed\":" + random.nextBoolean() + "}");
+    }
+
+    private ObjectNode summarize(String mode, List<long[]> results, double elapsedSeconds) {
+        long ok = 0;
+        long shed = 0;
+        long failed = 0;
+        int total = results.stream().mapToInt(samples -> samples.length / 2).sum();
+        long[] latencies = new long[total];
+        int index = 0;
+        for (long[] samples : results) {
+            for (int i = 0; i < samples.length; i += 2) {
+                latencies[index++] = samples[i];
+                long status = samples[i + 1];
+                if (status == 503) {
+                    shed++;
+                } else if (status >= 200 && status < 400) {
+                    ok++;
+                } else {
+                    failed++;
+                }
+            }
+        }
+        Arrays.sort(latencies);
+
+        ObjectNode summary = objectMapper.createObjectNode();
+        summary.put("requests", total);
+        summary.put("succeeded", ok);
+        summary.put("rejected503", shed);
+        summary.put("failed", failed);
+        summary.put("throughputPerSecond", ok / elapsedSeconds);
+        summary.put("p50Ms", percentile(latencies, 0.50));
+        summary.put("p95Ms", percentile(latencies, 0.95));
+        summary.put("p99Ms", percentile(latencies, 0.99));
+        summary.put("maxMs", total == 0 ? 0 : latencies[total - 1] / 1e6);
+
+        logger.info(String.format("[%s] %d requests, %.1f ok/s, %d shed (503), %d failed, p50 %.2f ms, p95 %.2f ms, p99 %.2f ms",
+                mode, total, summary.get("throughputPerSecond").asDouble(), shed, failed,
+                summary.get("p50Ms").asDouble(), summary.get("p95Ms").asDouble(), summary.get("p99Ms").asDouble()));
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+
+    private HttpResponse<String> send(int port, String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri()
+                    + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private record Session(String token, long projectId, long[] taskIds) {
+    }
+}
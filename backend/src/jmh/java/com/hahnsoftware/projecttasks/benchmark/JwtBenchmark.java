@@ -0,0 +1,44 @@
+package com.hahnsoftware.projecttasks.benchmark;
+
+import com.hahnsoftware.projecttasks.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and validation; {@code cacheSize = 0} measures a full HMAC verification per call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    @Param({"0", "10000"})
+    private int cacheSize;
+
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = BenchmarkFixtures.jwtUtils(cacheSize);
+        authentication = BenchmarkFixtures.authentication();
+        token = jwtUtils.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(authentication);
+    }
+
+    @Benchmark
+    public Claims parseAndValidate() {
+        return jwtUtils.parseAndValidate(token);
+    }
+}
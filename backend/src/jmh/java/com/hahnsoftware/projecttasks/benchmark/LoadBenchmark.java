@@ -0,0 +1,401 @@
+package com.hahnsoftware.projecttasks.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load benchmark: boots the application on a random port against an embedded
+ * PostgreSQL, seeds one user per worker thread through the API, then drives a weighted mix of
+ * logins, listings, task updates, creates and deletes. Latency percentiles and throughput per
+ * endpoint are logged and written to {@code target/load-benchmark/<timestamp>.json}.
+ *
+ * <p>Tuning via system properties: {@code load.threads}, {@code load.projects-per-user},
+ * {@code load.tasks-per-project}, {@code load.warmup-seconds}, {@code load.duration-seconds}.
+ * Not picked up by a plain {@code mvn test}; run with
+ * {@code mvn -Pbenchmark test -Dtest=LoadBenchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.secret=" + BenchmarkFixtures.SECRET,
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "search.rebuild-on-startup=false",
+        // The benchmark drives a handful of users far beyond the production limits
+        "rate-limit.auth.requests-per-second=0",
+        "rate-limit.api.requests-per-second=0"
+})
+class LoadBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadBenchmark.class);
+
+    private static final int THREADS = Integer.getInteger("load.threads", 16);
+    private static final int PROJECTS_PER_USER = Integer.getInteger("load.projects-per-user", 10);
+    private static final int TASKS_PER_PROJECT = Integer.getInteger("load.tasks-per-project", 100);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 30);
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private static EmbeddedPostgres postgres;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void mixedTraffic() throws Exception {
+        logger.info("Seeding {} users x {} projects x {} tasks", THREADS, PROJECTS_PER_USER, TASKS_PER_PROJECT);
+        List<VirtualUser> users = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            users.add(seed(i));
+        }
+
+        logger.info("Warming up for {}s", WARMUP_SECONDS);
+        drive(users, WARMUP_SECONDS);
+
+        logger.info("Measuring for {}s with {} threads", DURATION_SECONDS, THREADS);
+        long start = System.nanoTime();
+        List<Recorder> recorders = drive(users, DURATION_SECONDS);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        ObjectNode report = report(recorders, elapsedSeconds);
+        Path output = Path.of("target", "load-benchmark",
+                Instant.now().toString().replace(':', '-') + ".json");
+        Files.createDirectories(output.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        logger.info("Load benchmark results written to {}", output.toAbsolutePath());
+
+        assertTrue(report.get("totalRequests").asLong() > 0, "no requests completed");
+    }
+
+    private VirtualUser seed(int index) throws Exception {
+        String email = "load-" + index + "@benchmark.local";
+        String credentials = objectMapper.writeValueAsString(Map.of("email", email, "password", "benchmark-" + index));
+        send("POST", "/auth/register", null, credentials);
+        VirtualUser user = new VirtualUser(credentials, login(credentials));
+
+        for (int p = 0; p < PROJECTS_PER_USER; p++) {
+            JsonNode project = json(send("POST", "/projects", user.token,
+                    objectMapper.writeValueAsString(Map.of("title", "Project " + p, "description", "Seeded project"))));
+            long projectId = project.get("id").asLong();
+            List<Long> taskIds = new ArrayList<>(TASKS_PER_PROJECT);
+
+            for (int offset = 0; offset < TASKS_PER_PROJECT; offset += SEED_BATCH_SIZE) {
+                ArrayNode operations = objectMapper.createArrayNode();
+                for (int t = offset; t < Math.min(TASKS_PER_PROJECT, offset + SEED_BATCH_SIZE); t++) {
+                    operations.addObject()
+                            .put("op", "CREATE")
+                            .put("title", "Task " + t)
+                            .put("description", "Seeded task " + t + " of project " + p)
+                            .put("completed", t % 4 == 0);
+                }
+                ObjectNode batch = objectMapper.createObjectNode();
+                batch.set("operations", operations);
+                JsonNode result = json(send("POST", "/projects/" + projectId + "/tasks/batch", user.token,
+                        objectMapper.writeValueAsString(batch)));
+                for (JsonNode item : result.get("results")) {
+                    taskIds.add(item.get("id").asLong());
+                }
+            }
+            user.projects.put(projectId, taskIds);
+            user.projectIds.add(projectId);
+        }
+        return user;
+    }
+
+    /**
+     * Runs one worker per user until the deadline; each worker records into its own recorder.
+     */
+    private List<Recorder> drive(List<VirtualUser> users, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(users.size());
+        try {
+            List<Future<Recorder>> futures = new ArrayList<>();
+            for (VirtualUser user : users) {
+                futures.add(executor.submit(() -> {
+                    Recorder recorder = new Recorder();
+                    while (System.nanoTime() < deadline) {
+                        step(user, recorder);
+                    }
+                    return recorder;
+                }));
+            }
+            List<Recorder> recorders = new ArrayList<>();
+            for (Future<Recorder> future : futures) {
+                recorders.add(future.get());
+            }
+            return recorders;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void step(VirtualUser user, Recorder recorder) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Endpoint endpoint = Endpoint.pick(random.nextInt(Endpoint.TOTAL_WEIGHT));
+        long projectId = user.projectIds.get(random.nextInt(user.projectIds.size()));
+        List<Long> tasks = user.projects.get(projectId);
+
+        switch (endpoint) {
+            case LOGIN -> {
+                HttpResponse<String> response = timed(recorder, endpoint, "POST", "/auth/login", null, user.credentials);
+                if (response.statusCode() == 200) {
+                    user.token = json(response).get("token").asText();
+                }
+            }
+            case LIST_PROJECTS -> timed(recorder, endpoint, "GET", "/projects", user.token, null);
+            case LIST_TASKS -> timed(recorder, endpoint, "GET", "/projects/" + projectId + "/tasks", user.token, null);
+            case TOGGLE_TASK -> {
+                if (tasks.isEmpty()) {
+                    return;
+                }
+                long taskId = tasks.get(random.nextInt(tasks.size()));
+                boolean completed = !user.completed.getOrDefault(taskId, false);
+                user.completed.put(taskId, completed);
+                timed(recorder, endpoint, "PUT", "/projects/" + projectId + "/tasks/" + taskId, user.token,
+                        objectMapper.writeValueAsString(Map.of("title", "Task " + taskId, "completed", completed)));
+            }
+            case CREATE_TASK -> {
+                HttpResponse<String> response = timed(recorder, endpoint, "POST", "/projects/" + projectId + "/tasks",
+                        user.token, objectMapper.writeValueAsString(Map.of("title", "Load task", "description", "Created under load")));
+                if (response.statusCode() == 200) {
+                    long taskId = json(response).get("id").asLong();
+                    tasks.add(taskId);
+                    user.created.add(new long[]{projectId, taskId});
+                }
+            }
+            case DELETE_TASK -> {
+                // Only delete tasks created under load so the seeded data set stays the same size
+                if (user.created.isEmpty()) {
+                    return;
+                }
+                long[] target = user.created.remove(user.created.size() - 1);
+                user.projects.get(target[0]).remove(target[1]);
+                user.completed.remove(target[1]);
+                timed(recorder, endpoint, "DELETE", "/projects/" + target[0] + "/tasks/" + target[1], user.token, null);
+            }
+        }
+    }
+
+    private HttpResponse<String> timed(Recorder recorder, Endpoint endpoint, String method, String path,
+                                       String token, String body) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = send(method, path, token, body);
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            throw e;
+        }
+        recorder.record(endpoint, System.nanoTime() - start, response.statusCode() < 400);
+        return response;
+    }
+
+    private HttpResponse<String> send(String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String login(String credentials) throws Exception {
+        return json(send("POST", "/auth/login", null, credentials)).get("token").asText();
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri()
+                    + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private ObjectNode report(List<Recorder> recorders, double elapsedSeconds) {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("timestamp", Instant.now().toString());
+        report.put("durationSeconds", elapsedSeconds);
+        ObjectNode config = report.putObject("config");
+        config.put("threads", THREADS);
+        config.put("projectsPerUser", PROJECTS_PER_USER);
+        config.put("tasksPerProject", TASKS_PER_PROJECT);
+        config.put("warmupSeconds", WARMUP_SECONDS);
+
+        long totalRequests = 0;
+        ObjectNode endpoints = report.putObject("endpoints");
+        logger.info(String.format("%-45s %-18s %9s %7s %10s %8s %8s %8s %8s",
+                "endpoint", "controller", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            long[] samples = recorders.stream()
+                    .map(recorder -> recorder.samples(endpoint))
+                    .flatMapToLong(Arrays::stream)
+                    .sorted()
+                    .toArray();
+            long errors = recorders.stream().mapToLong(recorder -> recorder.errors.get(endpoint)[0]).sum();
+            totalRequests += samples.length;
+
+            ObjectNode stats = endpoints.putObject(endpoint.route);
+            stats.put("controller", endpoint.controller);
+            stats.put("requests", samples.length);
+            stats.put("errors", errors);
+            stats.put("throughputPerSecond", samples.length / elapsedSeconds);
+            stats.put("p50Ms", percentile(samples, 0.50));
+            stats.put("p95Ms", percentile(samples, 0.95));
+            stats.put("p99Ms", percentile(samples, 0.99));
+            stats.put("maxMs", samples.length == 0 ? 0 : samples[samples.length - 1] / 1e6);
+
+            logger.info(String.format("%-45s %-18s %9d %7d %10.1f %8.2f %8.2f %8.2f %8.2f",
+                    endpoint.route, endpoint.controller, samples.length, errors,
+                    stats.get("throughputPerSecond").asDouble(), stats.get("p50Ms").asDouble(),
+                    stats.get("p95Ms").asDouble(), stats.get("p99Ms").asDouble(), stats.get("maxMs").asDouble()));
+        }
+
+        report.put("totalRequests", totalRequests);
+        report.put("totalThroughputPerSecond", totalRequests / elapsedSeconds);
+        return report;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private enum Endpoint {
+        LOGIN("AuthController", "POST /auth/login", 5),
+        LIST_PROJECTS("ProjectController", "GET /projects", 20),
+        LIST_TASKS("TaskController", "GET /projects/{projectId}/tasks", 35),
+        TOGGLE_TASK("TaskController", "PUT /projects/{projectId}/tasks/{taskId}", 20),
+        CREATE_TASK("TaskController", "POST /projects/{projectId}/tasks", 12),
+        DELETE_TASK("TaskController", "DELETE /projects/{projectId}/tasks/{taskId}", 8);
+
+        static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(endpoint -> endpoint.weight).sum();
+
+        private final String controller;
+        private final String route;
+        private final int weight;
+
+        Endpoint(String controller, String route, int weight) {
+            this.controller = controller;
+            this.route = route;
+            this.weight = weight;
+        }
+
+        static Endpoint pick(int roll) {
+            for (Endpoint endpoint : values()) {
+                roll -= endpoint.weight;
+                if (roll < 0) {
+                    return endpoint;
+                }
+            }
+            return LIST_TASKS;
+        }
+    }
+
+    /**
+     * Worker-confined latency samples, so recording never contends across threads.
+     */
+    private static final class Recorder {
+        private final Map<Endpoint, long[]> samples = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, int[]> counts = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, long[]> errors = new EnumMap<>(Endpoint.class);
+
+        private Recorder() {
+            for (Endpoint endpoint : Endpoint.values()) {
+                samples.put(endpoint, new long[1024]);
+                counts.put(endpoint, new int[1]);
+                errors.put(endpoint, new long[1]);
+            }
+        }
+
+        void record(Endpoint endpoint, long nanos, boolean success) {
+            int[] count = counts.get(endpoint);
+            long[] values = samples.get(endpoint);
+            if (count[0] == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+                samples.put(endpoint, values);
+            }
+            values[count[0]++] = nanos;
+            if (!success) {
+                errors.get(endpoint)[0]++;
+            }
+        }
+
+        long[] samples(Endpoint endpoint) {
+            return Arrays.copyOf(samples.get(endpoint), counts.get(endpoint)[0]);
+        }
+    }
+
+    private static final class VirtualUser {
+        private final String credentials;
+        private volatile String token;
+        private final List<Long> projectIds = new ArrayList<>();
+        private final Map<Long, List<Long>> projects = new HashMap<>();
+        private final Map<Long, Boolean> completed = new HashMap<>();
+        private final List<long[]> created = new ArrayList<>();
+
+        private VirtualUser(String credentials, String token) {
+            this.credentials = credentials;
+            this.token = token;
+        }
+    }
+}
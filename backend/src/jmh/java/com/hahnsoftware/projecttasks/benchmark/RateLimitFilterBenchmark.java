@@ -0,0 +1,94 @@
+package com.hahnsoftware.projecttasks.benchmark;
+
+import com.hahnsoftware.projecttasks.exception.ErrorResponseWriter;
+import com.hahnsoftware.projecttasks.security.RateLimitFilter;
+import com.hahnsoftware.projecttasks.security.RateLimiter;
+import com.hahnsoftware.projecttasks.security.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-user rate limit stage for authenticated requests spread over {@code users} clients, with limits
+ * high enough that every request is let through, i.e. the cost the limiter adds to normal traffic.
+ * {@code rejecting} measures the 429 path instead, with a bucket that is always empty, and
+ * {@code baseline} the same request setup without the filter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"1", "10000"})
+    private int users;
+
+    private RateLimitFilter filter;
+    private RateLimitFilter rejectingFilter;
+    private Authentication[] authentications;
+
+    @Setup
+    public void setUp() {
+        ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter(BenchmarkFixtures.objectMapper());
+        filter = new RateLimitFilter(RateLimitFilter.Key.USER,
+                new RateLimiter(1e9, 1_000_000, 1e9, 1_000_000, new SimpleMeterRegistry()),
+                errorResponseWriter, new SimpleMeterRegistry());
+        rejectingFilter = new RateLimitFilter(RateLimitFilter.Key.USER,
+                new RateLimiter(1e-3, 1, 1e-3, 1, new SimpleMeterRegistry()),
+                errorResponseWriter, new SimpleMeterRegistry());
+        authentications = new Authentication[users];
+        for (int i = 0; i < users; i++) {
+            UserDetailsImpl principal = new UserDetailsImpl((long) i, "user" + i + "@example.com", null,
+                    List.of(new SimpleGrantedAuthority("ROLE_USER")));
+            authentications[i] = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public int baseline(Cursor cursor) throws Exception {
+        return run(null, cursor);
+    }
+
+    @Benchmark
+    public int allowed(Cursor cursor) throws Exception {
+        return run(filter, cursor);
+    }
+
+    @Benchmark
+    public int rejecting(Cursor cursor) throws Exception {
+        return run(rejectingFilter, cursor);
+    }
+
+    private int run(RateLimitFilter target, Cursor cursor) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(authentications[cursor.next]);
+        cursor.next = (cursor.next + 1) % users;
+        // A fresh request each time: OncePerRequestFilter skips requests it has already seen
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/projects/1/tasks");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (target != null) {
+            target.doFilter(request, response, NO_OP_CHAIN);
+        } else {
+            NO_OP_CHAIN.doFilter(request, response);
+        }
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,75 @@
+package com.hahnsoftware.projecttasks.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hahnsoftware.projecttasks.dto.ProjectResponseDTO;
+import com.hahnsoftware.projecttasks.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies for task and project listings at page and "everything" sizes, in each of the
+ * negotiable encodings, plus parsing a task listing the way a client would. Payload sizes are
+ * printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<Task>> TASK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"50", "1000", "10000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private List<ProjectResponseDTO> projects;
+    private byte[] encodedTasks;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = BenchmarkFixtures.objectMapper(factory(format));
+        tasks = BenchmarkFixtures.tasks(size);
+        projects = BenchmarkFixtures.projects(size);
+        encodedTasks = objectMapper.writeValueAsBytes(tasks);
+        System.out.printf("%n%s payload for %d tasks: %d bytes, %d projects: %d bytes%n", format,
+                size, encodedTasks.length, size, objectMapper.writeValueAsBytes(projects).length);
+    }
+
+    @Benchmark
+    public byte[] serializeTasks() throws Exception {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeProjects() throws Exception {
+        return objectMapper.writeValueAsBytes(projects);
+    }
+
+    @Benchmark
+    public List<Task> deserializeTasks() throws Exception {
+        return objectMapper.readValue(encodedTasks, TASK_LIST);
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+}
@@ -3,9 +3,11 @@ package com.hahnsoftware.projecttasks;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "com.hahnsoftware.projecttasks.repository")
+@EnableScheduling
 public class ProjectTasksManagerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,82 @@
+package com.hahnsoftware.projecttasks.config;
+
+import com.hahnsoftware.projecttasks.exception.ErrorResponseWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests being processed at once. With virtual threads Tomcat no longer
+ * bounds concurrency, so without this every burst would queue on the connection pool until
+ * requests time out there; here excess requests wait briefly for a permit and are then turned
+ * away with 503 and Retry-After.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final long retryAfterSeconds;
+    private final Counter rejected;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    public ConcurrencyLimitFilter(int maxInFlight, long acquireTimeoutMs, long retryAfterSeconds,
+                                  ErrorResponseWriter errorResponseWriter, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxInFlight);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.errorResponseWriter = errorResponseWriter;
+        Gauge.builder("http.server.requests.in.flight", permits, p -> maxInFlight - p.availablePermits())
+                .description("Requests holding a concurrency permit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.server.requests.rejected")
+                .description("Requests turned away because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Health checks and scrapes must keep working while the application is saturated
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            reject(request, response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        errorResponseWriter.write(request, response, HttpStatus.SERVICE_UNAVAILABLE,
+                "Server is busy, please retry shortly");
+    }
+}
@@ -0,0 +1,35 @@
+package com.hahnsoftware.projecttasks.config;
+
+import com.hahnsoftware.projecttasks.exception.ErrorResponseWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Request execution settings. Whether requests run on virtual threads is Boot's own
+ * {@code spring.threads.virtual.enabled}; this adds the in-flight limit that keeps either mode
+ * from overrunning the connection pool.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    @Bean
+    @ConditionalOnExpression("${concurrency.max-in-flight:0} > 0")
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${concurrency.max-in-flight}") int maxInFlight,
+            @Value("${concurrency.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            @Value("${concurrency.retry-after-seconds:1}") long retryAfterSeconds,
+            ErrorResponseWriter errorResponseWriter,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(maxInFlight, acquireTimeoutMs, retryAfterSeconds,
+                        errorResponseWriter, meterRegistry));
+        // Ahead of security and everything else, so rejected requests cost next to nothing
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
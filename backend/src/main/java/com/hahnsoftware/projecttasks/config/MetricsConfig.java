@@ -0,0 +1,82 @@
+package com.hahnsoftware.projecttasks.config;
+
+import com.hahnsoftware.projecttasks.security.BoundedPasswordEncoder;
+import com.hahnsoftware.projecttasks.security.JwtUtils;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Application metrics on top of the actuator defaults (http.server.requests, hikaricp.*,
+ * hibernate.*): controller method tags, queries per request and the auth hot-path components.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Adds a {@code handler} tag (e.g. {@code TaskController#getAllTasks}) to http.server.requests.
+     */
+    @Bean
+    public ServerRequestObservationConvention handlerTaggingObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry));
+        // Outside the security chain, so queries made while authenticating are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder authMetrics(BoundedPasswordEncoder passwordEncoder, JwtUtils jwtUtils) {
+        return registry -> {
+            Gauge.builder("auth.hashing.queue.depth", passwordEncoder, BoundedPasswordEncoder::getQueueDepth)
+                    .description("Password hashes waiting for a worker thread")
+                    .register(registry);
+            Gauge.builder("auth.hashing.active", passwordEncoder, BoundedPasswordEncoder::getActiveHashes)
+                    .description("Password hashes currently being computed")
+                    .register(registry);
+            FunctionCounter.builder("auth.hashing.rejected", passwordEncoder, BoundedPasswordEncoder::getRejectedCount)
+                    .description("Logins and registrations rejected because the hashing pool was saturated")
+                    .register(registry);
+            Gauge.builder("auth.token.cache.size", jwtUtils, JwtUtils::getVerifiedTokenCacheSize)
+                    .description("Verified tokens held in the JWT cache")
+                    .register(registry);
+        };
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return KeyValue.of("handler", method.getBeanType().getSimpleName() + "#" + method.getMethod().getName());
+        }
+        return KeyValue.of("handler", "none");
+    }
+}
@@ -0,0 +1,24 @@
+package com.hahnsoftware.projecttasks.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs the Flyway migrations at startup unless {@code db.migrate-on-startup} is false. Unlike
+ * {@code spring.flyway.enabled}, which AOT fixes at build time, this is read when the context
+ * starts, so the CDS training run of the fast-startup image can skip the database.
+ */
+@Configuration
+public class MigrationConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${db.migrate-on-startup:true}") boolean migrate) {
+        return flyway -> {
+            if (migrate) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.hahnsoftware.projecttasks.config;
+
+import com.hahnsoftware.projecttasks.event.DataImportedEvent;
+import com.hahnsoftware.projecttasks.event.ProjectChangedEvent;
+import com.hahnsoftware.projecttasks.event.TaskChangedEvent;
+import com.hahnsoftware.projecttasks.security.UserDetailsImpl;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers which users committed a change in the last few seconds, so their reads can be kept
+ * on the primary until the replica has caught up. The window is per application instance.
+ */
+class ReadYourWritesTracker {
+
+    private static final int SWEEP_EVERY = 1024;
+
+    private final long windowNanos;
+    private final Map<Long, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger writesSinceSweep = new AtomicInteger();
+
+    ReadYourWritesTracker(long windowMillis) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    // First after commit, so other listeners reading the new rows (e.g. the search rebuild) already see them
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        recordWrite(event.userId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        recordWrite(event.userId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataImported(DataImportedEvent event) {
+        recordWrite(event.userId());
+    }
+
+    void recordWrite(Long userId) {
+        long now = System.nanoTime();
+        lastWriteByUser.put(userId, now);
+        if (writesSinceSweep.incrementAndGet() >= SWEEP_EVERY) {
+            writesSinceSweep.set(0);
+            lastWriteByUser.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+        }
+    }
+
+    /**
+     * Whether the authenticated user (if any) wrote within the window.
+     */
+    boolean currentUserWroteRecently() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl user)) {
+            return false;
+        }
+        Long writtenAt = lastWriteByUser.get(user.getId());
+        return writtenAt != null && System.nanoTime() - writtenAt <= windowNanos;
+    }
+}
@@ -0,0 +1,29 @@
+package com.hahnsoftware.projecttasks.controller;
+
+import com.hahnsoftware.projecttasks.dto.CursorPage;
+import com.hahnsoftware.projecttasks.model.ActivityEntry;
+import com.hahnsoftware.projecttasks.service.ActivityService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/projects/{projectId}/activity")
+public class ActivityController {
+
+    private final ActivityService activityService;
+
+    public ActivityController(ActivityService activityService) {
+        this.activityService = activityService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ActivityEntry>> getActivity(@PathVariable Long projectId,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer limit) {
+        CursorPage<ActivityEntry> page = activityService.getActivity(projectId, cursor, limit);
+        return PageHeaders.ok(page);
+    }
+}
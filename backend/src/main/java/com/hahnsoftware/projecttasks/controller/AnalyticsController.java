@@ -0,0 +1,41 @@
+package com.hahnsoftware.projecttasks.controller;
+
+import com.hahnsoftware.projecttasks.dto.DailyStatsDTO;
+import com.hahnsoftware.projecttasks.service.TaskStatsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Completion dashboards, read from the daily rollups only. Both ends of the range are inclusive
+ * ISO dates; the default is the last 30 days.
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/projects")
+public class AnalyticsController {
+
+    private final TaskStatsService taskStatsService;
+
+    public AnalyticsController(TaskStatsService taskStatsService) {
+        this.taskStatsService = taskStatsService;
+    }
+
+    @GetMapping("/analytics/daily")
+    public ResponseEntity<List<DailyStatsDTO>> getUserStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(taskStatsService.getUserStats(from, to));
+    }
+
+    @GetMapping("/{projectId}/analytics/daily")
+    public ResponseEntity<List<DailyStatsDTO>> getProjectStats(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(taskStatsService.getProjectStats(projectId, from, to));
+    }
+}
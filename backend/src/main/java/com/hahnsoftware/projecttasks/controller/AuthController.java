@@ -3,8 +3,12 @@ package com.hahnsoftware.projecttasks.controller;
 import com.hahnsoftware.projecttasks.dto.JwtResponse;
 import com.hahnsoftware.projecttasks.dto.LoginRequest;
 import com.hahnsoftware.projecttasks.dto.SignupRequest;
+import com.hahnsoftware.projecttasks.exception.ConflictException;
+import com.hahnsoftware.projecttasks.exception.PasswordHashingOverloadedException;
 import com.hahnsoftware.projecttasks.service.AuthService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,7 +31,12 @@ public class AuthController {
         try {
             JwtResponse response = authService.login(loginRequest);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingOverloadedException e) {
+            return overloaded(e);
         } catch (org.springframework.security.core.AuthenticationException e) {
+            if (e.getCause() instanceof PasswordHashingOverloadedException overloaded) {
+                return overloaded(overloaded);
+            }
             Map<String, String> error = new HashMap<>();
             error.put("message", "Invalid email or password");
             return ResponseEntity.status(401).body(error);
@@ -46,6 +55,12 @@ public class AuthController {
             Map<String, String> response = new HashMap<>();
             response.put("message", "User registered successfully!");
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingOverloadedException e) {
+            return overloaded(e);
+        } catch (ConflictException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         } catch (IllegalArgumentException e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
@@ -53,11 +68,19 @@ public class AuthController {
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Error: Email is already in use!");
-            return ResponseEntity.badRequest().body(error);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Registration failed: " + e.getMessage());
             return ResponseEntity.status(500).body(error);
         }
     }
+
+    private ResponseEntity<?> overloaded(PasswordHashingOverloadedException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
+    }
 }
@@ -0,0 +1,35 @@
+package com.hahnsoftware.projecttasks.controller;
+
+import com.hahnsoftware.projecttasks.service.ChangeFeedService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event streams of task and project changes, as an alternative to polling the listings.
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/projects")
+public class ChangeFeedController {
+
+    // Tells nginx not to buffer the stream
+    private static final String ACCEL_BUFFERING = "X-Accel-Buffering";
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> userEvents() {
+        return ResponseEntity.ok().header(ACCEL_BUFFERING, "no").body(changeFeedService.subscribeToUser());
+    }
+
+    @GetMapping(path = "/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> projectEvents(@PathVariable Long projectId) {
+        return ResponseEntity.ok().header(ACCEL_BUFFERING, "no").body(changeFeedService.subscribeToProject(projectId));
+    }
+}
@@ -0,0 +1,84 @@
+package com.hahnsoftware.projecttasks.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Strong entity tags built from entity versions, so a conditional GET can be answered before the
+ * response body is loaded. Clients may store responses but must revalidate them on every use. One
+ * version is served as JSON, CBOR or Smile depending on the Accept header, so the tag names the
+ * encoding as well, keeping it byte-exact, and cached responses vary by Accept.
+ */
+final class ETags {
+    static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private ETags() {
+    }
+
+    static String of(String resource, Long id, long version, WebRequest request) {
+        return "\"" + resource + "-" + id + "-v" + version + encoding(request) + "\"";
+    }
+
+    /**
+     * Digest of the {@code [id, version]} rows making up a listing page; ids are never reused and
+     * versions only grow, so equal digests mean an unchanged page.
+     */
+    static String ofRows(String resource, List<Object[]> rows, WebRequest request) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer row = ByteBuffer.allocate(2 * Long.BYTES);
+        for (Object[] values : rows) {
+            row.clear();
+            row.putLong(((Number) values[0]).longValue()).putLong(((Number) values[1]).longValue());
+            digest.update(row.array());
+        }
+        return "\"" + resource + "-" + HexFormat.of().formatHex(digest.digest(), 0, 16) + encoding(request) + "\"";
+    }
+
+    /**
+     * Suffix for the encoding the message converters will pick: JSON (no suffix) whenever the
+     * client accepts it, as the JSON converter comes first, otherwise CBOR or Smile.
+     */
+    private static String encoding(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return "";
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.includes(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (type.includes(CBOR)) {
+                return "-cbor";
+            }
+            if (type.includes(SMILE)) {
+                return "-smile";
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,38 @@
+package com.hahnsoftware.projecttasks.controller;
+
+import com.hahnsoftware.projecttasks.dto.DataFormat;
+import com.hahnsoftware.projecttasks.service.ExportService;
+import com.hahnsoftware.projecttasks.service.UserService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+
+    private final ExportService exportService;
+    private final UserService userService;
+
+    public ExportController(ExportService exportService, UserService userService) {
+        this.exportService = exportService;
+        this.userService = userService;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        DataFormat exportFormat = DataFormat.parse(format);
+        // Resolved here: the body is written on an async thread without the security context
+        Long userId = userService.getCurrentUserId();
+
+        StreamingResponseBody body = out -> exportService.export(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"export." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,53 @@
+package com.hahnsoftware.projecttasks.controller;
+
+import com.hahnsoftware.projecttasks.dto.DataFormat;
+import com.hahnsoftware.projecttasks.dto.ImportProgress;
+import com.hahnsoftware.projecttasks.dto.ImportResult;
+import com.hahnsoftware.projecttasks.service.ImportService;
+import com.hahnsoftware.projecttasks.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/import")
+public class ImportController {
+
+    private final ImportService importService;
+    private final UserService userService;
+
+    public ImportController(ImportService importService, UserService userService) {
+        this.importService = importService;
+        this.userService = userService;
+    }
+
+    /**
+     * Reads the raw request body as a stream; the upload is parsed row by row, never buffered whole.
+     * A 400 (unreadable upload) or 500 (loading failed) still carries the result, saying how much of
+     * the file was committed before the import stopped.
+     */
+    @PostMapping
+    public ResponseEntity<ImportResult> importData(@RequestParam(defaultValue = "ndjson") String format,
+                                                   HttpServletRequest request) throws IOException {
+        DataFormat importFormat = DataFormat.parse(format);
+        ImportResult result = importService.importData(userService.getCurrentUserId(), importFormat,
+                request.getInputStream());
+        if (result.getFailure() != null) {
+            return ResponseEntity.status(result.isInputError() ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Progress of the caller's latest import, updated after every committed chunk.
+     */
+    @GetMapping("/progress")
+    public ResponseEntity<ImportProgress> getProgress() {
+        return ResponseEntity.ok(importService.getProgress(userService.getCurrentUserId()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.hahnsoftware.projecttasks.controller;
+
+import com.hahnsoftware.projecttasks.dto.CursorPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Listings keep their plain JSON array body; the cursor for the next page travels in a header
+ * and is absent on the last page.
+ */
+final class PageHeaders {
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    private PageHeaders() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        return withCursor(ResponseEntity.ok(), page);
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page, String eTag) {
+        return withCursor(ResponseEntity.ok().eTag(eTag).cacheControl(ETags.CACHE_CONTROL).varyBy(HttpHeaders.ACCEPT), page);
+    }
+
+    private static <T> ResponseEntity<List<T>> withCursor(ResponseEntity.BodyBuilder response, CursorPage<T> page) {
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+}
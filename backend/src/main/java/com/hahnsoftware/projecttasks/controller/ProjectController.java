@@ -1,12 +1,15 @@
 package com.hahnsoftware.projecttasks.controller;
 
 import com.hahnsoftware.projecttasks.dto.CreateProjectRequest;
+import com.hahnsoftware.projecttasks.dto.CursorPage;
 import com.hahnsoftware.projecttasks.dto.ProjectResponseDTO;
 import com.hahnsoftware.projecttasks.dto.UpdateProjectRequest;
 import com.hahnsoftware.projecttasks.service.ProjectService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,9 +25,15 @@ public class ProjectController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectResponseDTO>> getAllProjects() {
-        List<ProjectResponseDTO> projects = projectService.getAllProjects();
-        return ResponseEntity.ok(projects);
+    public ResponseEntity<List<ProjectResponseDTO>> getAllProjects(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limit,
+                                                                   WebRequest webRequest) {
+        String eTag = ETags.ofRows("projects", projectService.getProjectPageVersions(cursor, limit), webRequest);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        CursorPage<ProjectResponseDTO> page = projectService.getAllProjects(cursor, limit);
+        return PageHeaders.ok(page, eTag);
     }
 
     @PostMapping
@@ -34,14 +43,27 @@ public class ProjectController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectResponseDTO> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<ProjectResponseDTO> getProjectById(@PathVariable Long id, WebRequest webRequest) {
+        String eTag = ETags.of("project", id, projectService.getProjectVersion(id), webRequest);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         ProjectResponseDTO project = projectService.getProjectById(id);
-        return ResponseEntity.ok(project);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(ETags.CACHE_CONTROL).varyBy(HttpHeaders.ACCEPT).body(project);
     }
 
+    /**
+     * Honours If-Match with the tag from {@link #getProjectById}, answering 412 once the project has
+     * moved on. The comparison is strong, which the version-based tags support.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<ProjectResponseDTO> updateProject(@PathVariable Long id,
-                                                            @Valid @RequestBody UpdateProjectRequest request) {
+                                                            @Valid @RequestBody UpdateProjectRequest request,
+                                                            WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_MATCH) != null
+                && webRequest.checkNotModified(ETags.of("project", id, projectService.getProjectVersion(id), webRequest))) {
+            return null;
+        }
         ProjectResponseDTO project = projectService.updateProject(id, request);
         return ResponseEntity.ok(project);
     }
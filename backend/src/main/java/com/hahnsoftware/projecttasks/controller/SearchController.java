@@ -0,0 +1,25 @@
+package com.hahnsoftware.projecttasks.controller;
+
+import com.hahnsoftware.projecttasks.dto.TaskSearchResponse;
+import com.hahnsoftware.projecttasks.service.TaskSearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+
+    private final TaskSearchService taskSearchService;
+
+    public SearchController(TaskSearchService taskSearchService) {
+        this.taskSearchService = taskSearchService;
+    }
+
+    @GetMapping("/tasks")
+    public ResponseEntity<TaskSearchResponse> searchTasks(@RequestParam("q") String query,
+                                                          @RequestParam(required = false) Integer page,
+                                                          @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(taskSearchService.search(query, page, size));
+    }
+}
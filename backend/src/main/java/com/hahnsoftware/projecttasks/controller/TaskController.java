@@ -1,12 +1,16 @@
 package com.hahnsoftware.projecttasks.controller;
 
+import com.hahnsoftware.projecttasks.dto.BatchTaskRequest;
+import com.hahnsoftware.projecttasks.dto.BatchTaskResponse;
 import com.hahnsoftware.projecttasks.dto.CreateTaskRequest;
+import com.hahnsoftware.projecttasks.dto.CursorPage;
 import com.hahnsoftware.projecttasks.dto.UpdateTaskRequest;
 import com.hahnsoftware.projecttasks.model.Task;
 import com.hahnsoftware.projecttasks.service.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,9 +26,16 @@ public class TaskController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks(@PathVariable Long projectId) {
-        List<Task> tasks = taskService.getAllTasks(projectId);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<Task>> getAllTasks(@PathVariable Long projectId,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  WebRequest webRequest) {
+        String eTag = ETags.of("tasks", projectId, taskService.getTaskListVersion(projectId), webRequest);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        CursorPage<Task> page = taskService.getAllTasks(projectId, cursor, limit);
+        return PageHeaders.ok(page, eTag);
     }
 
     @PostMapping
@@ -33,6 +44,12 @@ public class TaskController {
         return ResponseEntity.ok(task);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTaskResponse> applyBatch(@PathVariable Long projectId, @Valid @RequestBody BatchTaskRequest request) {
+        BatchTaskResponse response = taskService.applyBatch(projectId, request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Long projectId, @PathVariable Long id) {
         Task task = taskService.getTaskById(projectId, id);
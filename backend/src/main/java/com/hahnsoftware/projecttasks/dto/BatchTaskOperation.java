@@ -0,0 +1,24 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class BatchTaskOperation {
+    public enum Type {
+        CREATE, UPDATE, COMPLETE, DELETE
+    }
+
+    @NotNull(message = "Operation type is required")
+    private Type op;
+
+    // Target task for UPDATE, COMPLETE and DELETE
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    // For UPDATE this is optional as in UpdateTaskRequest; for COMPLETE it defaults to true
+    private Boolean completed;
+}
@@ -0,0 +1,16 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchTaskRequest {
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 1000, message = "A batch must not exceed 1000 operations")
+    private List<@Valid @NotNull BatchTaskOperation> operations;
+}
@@ -0,0 +1,16 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTaskResponse {
+    private int succeeded;
+    private int failed;
+    private List<BatchTaskResult> results;
+}
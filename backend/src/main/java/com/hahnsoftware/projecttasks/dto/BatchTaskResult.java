@@ -0,0 +1,20 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTaskResult {
+    public enum Status {
+        OK, INVALID, NOT_FOUND
+    }
+
+    private int index;
+    private BatchTaskOperation.Type op;
+    private Long id;
+    private Status status;
+    private String message;
+}
@@ -0,0 +1,24 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload of one server-sent change notification; fields that do not apply to the event type are omitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeFeedEvent {
+    private String type;
+    private Long projectId;
+    private Long taskId;
+    private String title;
+    private String description;
+    private Boolean completed;
+    private Long projectsImported;
+    private Long tasksImported;
+}
@@ -0,0 +1,23 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One day of a completion dashboard. The totals count every task created or completed up to and
+ * including the day; the completion rate is their ratio.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyStatsDTO {
+    private LocalDate day;
+    private long created;
+    private long completed;
+    private long totalCreated;
+    private long totalCompleted;
+    private double completionRate;
+}
@@ -0,0 +1,37 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import com.hahnsoftware.projecttasks.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Line-oriented formats shared by the export and import endpoints.
+ */
+public enum DataFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    DataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static DataFormat parse(String value) {
+        try {
+            return DataFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported format: " + value);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportError {
+    private int line;
+    private String message;
+}
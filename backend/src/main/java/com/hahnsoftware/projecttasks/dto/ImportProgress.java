@@ -0,0 +1,23 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Where an import stands: what the chunks committed so far hold, and up to which line of the file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportProgress {
+    private boolean running;
+    private LocalDateTime startedAt;
+    private int chunksCommitted;
+    private int lastCommittedLine;
+    private long projectsImported;
+    private long tasksImported;
+    private long rejected;
+}
@@ -0,0 +1,27 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+    private long projectsImported;
+    private long tasksImported;
+    private long rejected;
+    private List<ImportError> errors;
+    private boolean errorsTruncated;
+    private int chunksCommitted;
+    // Rows up to this line are imported or rejected; a failed import can resume after it
+    private int lastCommittedLine;
+    // Why loading stopped early, null when the whole file was processed
+    private String failure;
+    // The upload itself was unreadable (bad header or quoting, broken stream) rather than the load failing
+    @JsonIgnore
+    private boolean inputError;
+}
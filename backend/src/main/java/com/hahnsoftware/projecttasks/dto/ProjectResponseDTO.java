@@ -23,6 +23,16 @@ public class ProjectResponseDTO {
         this.completedTaskCount = completedTaskCount;
     }
 
+    /**
+     * Used by the aggregate JPQL projections in ProjectRepository, where counts come back as Long.
+     */
+    public ProjectResponseDTO(Long id, String title, String description,
+                              LocalDateTime createdAt, Long taskCount, Long completedTaskCount) {
+        this(id, title, description, createdAt,
+                taskCount != null ? taskCount.intValue() : 0,
+                completedTaskCount != null ? completedTaskCount.intValue() : 0);
+    }
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -0,0 +1,19 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Searchable fields of a task plus its owner, as loaded by the search index rebuild.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchDocument {
+    private Long taskId;
+    private Long projectId;
+    private Long userId;
+    private String title;
+    private String description;
+}
@@ -0,0 +1,15 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchHit {
+    private Long taskId;
+    private Long projectId;
+    private String title;
+    private double score;
+}
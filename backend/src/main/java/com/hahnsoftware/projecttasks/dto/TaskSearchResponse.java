@@ -0,0 +1,18 @@
+package com.hahnsoftware.projecttasks.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchResponse {
+    private String query;
+    private int page;
+    private int size;
+    private long total;
+    private List<TaskSearchHit> results;
+}
@@ -0,0 +1,8 @@
+package com.hahnsoftware.projecttasks.event;
+
+/**
+ * Published after a bulk import. Rows are written with COPY, so no per-entity events are raised
+ * and listeners should reload the user's data instead.
+ */
+public record DataImportedEvent(Long userId, long projectsImported, long tasksImported) {
+}
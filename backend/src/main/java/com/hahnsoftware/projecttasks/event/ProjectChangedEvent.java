@@ -0,0 +1,21 @@
+package com.hahnsoftware.projecttasks.event;
+
+import com.hahnsoftware.projecttasks.model.Project;
+
+/**
+ * Published by the service layer whenever a project is created, updated or deleted.
+ * Deleting a project removes its tasks without individual task events.
+ */
+public record ProjectChangedEvent(Type type,
+                                  Long userId,
+                                  Long projectId,
+                                  String title) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static ProjectChangedEvent of(Type type, Project project) {
+        return new ProjectChangedEvent(type, project.getUser().getId(), project.getId(), project.getTitle());
+    }
+}
@@ -0,0 +1,33 @@
+package com.hahnsoftware.projecttasks.event;
+
+import com.hahnsoftware.projecttasks.model.Task;
+
+/**
+ * Published by the service layer whenever a task is created, updated or deleted. Carries a
+ * snapshot of the task so listeners never touch the entity after the transaction has ended.
+ */
+public record TaskChangedEvent(Type type,
+                               Long userId,
+                               Long projectId,
+                               Long taskId,
+                               String title,
+                               String description,
+                               Boolean completed) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    /**
+     * Reads the owner through the project's user proxy, which does not initialize it.
+     */
+    public static TaskChangedEvent of(Type type, Task task) {
+        return new TaskChangedEvent(type,
+                task.getProject().getUser().getId(),
+                task.getProject().getId(),
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getCompleted());
+    }
+}
@@ -0,0 +1,17 @@
+package com.hahnsoftware.projecttasks.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A request parameter or upload the client got wrong, e.g. a tampered cursor or an invalid date range.
+ */
+public class BadRequestException extends DomainException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
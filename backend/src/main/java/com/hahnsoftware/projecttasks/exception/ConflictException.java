@@ -0,0 +1,17 @@
+package com.hahnsoftware.projecttasks.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The request clashes with the current state, e.g. a unique value that is already taken.
+ */
+public class ConflictException extends DomainException {
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
@@ -0,0 +1,25 @@
+package com.hahnsoftware.projecttasks.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Expected failures that map straight to a client error status. They are thrown for every probe of
+ * someone else's ids, so they skip stack trace capture and suppression: the handler only needs the
+ * status and message.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    public abstract HttpStatus getStatus();
+
+    /**
+     * Headers sent along with the status, e.g. Retry-After.
+     */
+    public HttpHeaders getHeaders() {
+        return HttpHeaders.EMPTY;
+    }
+}
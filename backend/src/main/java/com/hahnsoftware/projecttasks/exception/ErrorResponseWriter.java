@@ -0,0 +1,37 @@
+package com.hahnsoftware.projecttasks.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes {@code {status, error, message, path}} bodies for filters and entry points, which answer
+ * before Spring MVC and its message converters are reached. Uses the application's ObjectMapper
+ * with the body's serializer resolved once, instead of a fresh mapper and map per response.
+ */
+@Component
+public class ErrorResponseWriter {
+
+    private final ObjectWriter writer;
+
+    public ErrorResponseWriter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(ErrorBody.class);
+    }
+
+    public void write(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        writer.writeValue(response.getOutputStream(),
+                new ErrorBody(status.value(), status.getReasonPhrase(), message, request.getServletPath()));
+    }
+
+    private record ErrorBody(int status, String error, String message, String path) {
+    }
+}
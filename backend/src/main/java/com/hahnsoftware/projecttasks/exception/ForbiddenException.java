@@ -0,0 +1,17 @@
+package com.hahnsoftware.projecttasks.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The caller may know the resource exists but is not allowed to act on it.
+ */
+public class ForbiddenException extends DomainException {
+    public ForbiddenException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.FORBIDDEN;
+    }
+}
@@ -1,7 +1,17 @@
 package com.hahnsoftware.projecttasks.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+/**
+ * The resource does not exist or belongs to someone else; the two are deliberately indistinguishable.
+ */
+public class ResourceNotFoundException extends DomainException {
     public ResourceNotFoundException(String message) {
         super(message);
     }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
 }
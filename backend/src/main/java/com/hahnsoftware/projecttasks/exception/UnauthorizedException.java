@@ -0,0 +1,17 @@
+package com.hahnsoftware.projecttasks.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The request carries no usable authentication, the same 401 the security entry point answers with.
+ */
+public class UnauthorizedException extends DomainException {
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.UNAUTHORIZED;
+    }
+}
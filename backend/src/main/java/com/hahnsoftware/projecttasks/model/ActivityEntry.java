@@ -0,0 +1,43 @@
+package com.hahnsoftware.projecttasks.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the append-only activity log. Rows are inserted in batches over JDBC by
+ * {@code ActivityService} and never updated; they reference projects and tasks by id only, so the
+ * history outlives deletions.
+ */
+@Entity
+@Table(name = "activity_log", indexes = {
+        @Index(name = "idx_activity_log_project_id_id", columnList = "project_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 32)
+    private String action;
+
+    private String title;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,47 @@
+package com.hahnsoftware.projecttasks.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Daily rollup of a project's tasks: how many of its current tasks were created and completed on
+ * each day. Maintained incrementally by {@code TaskStatsService}.
+ */
+@Entity
+@Table(name = "project_daily_stats", indexes = {
+        @Index(name = "idx_project_daily_stats_user_id", columnList = "user_id")
+})
+@IdClass(ProjectDailyStats.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectDailyStats {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Id
+    private LocalDate day;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private long created;
+
+    @Column(nullable = false)
+    private long completed;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long projectId;
+        private LocalDate day;
+    }
+}
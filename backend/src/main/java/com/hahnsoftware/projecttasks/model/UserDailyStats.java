@@ -0,0 +1,42 @@
+package com.hahnsoftware.projecttasks.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Daily rollup across all of a user's projects, kept alongside {@link ProjectDailyStats} so that
+ * per-user dashboards read one row per day.
+ */
+@Entity
+@Table(name = "user_daily_stats")
+@IdClass(UserDailyStats.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDailyStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private long created;
+
+    @Column(nullable = false)
+    private long completed;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate day;
+    }
+}
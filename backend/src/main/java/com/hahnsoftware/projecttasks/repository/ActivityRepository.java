@@ -0,0 +1,13 @@
+package com.hahnsoftware.projecttasks.repository;
+
+import com.hahnsoftware.projecttasks.model.ActivityEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ActivityRepository extends JpaRepository<ActivityEntry, Long> {
+    List<ActivityEntry> findByProjectIdAndIdLessThanOrderByIdDesc(Long projectId, Long beforeId, Limit limit);
+}
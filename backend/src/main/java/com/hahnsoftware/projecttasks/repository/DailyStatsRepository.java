@@ -0,0 +1,36 @@
+package com.hahnsoftware.projecttasks.repository;
+
+import com.hahnsoftware.projecttasks.model.ProjectDailyStats;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reads of the daily rollups. Each returns {day, created, completed} rows ordered by day, or a
+ * single {created, completed} row of totals before a day.
+ */
+public interface DailyStatsRepository extends Repository<ProjectDailyStats, ProjectDailyStats.Key> {
+
+    @Query("SELECT s.day, s.created, s.completed FROM ProjectDailyStats s "
+            + "WHERE s.projectId = :projectId AND s.day BETWEEN :from AND :to ORDER BY s.day")
+    List<Object[]> findProjectDays(@Param("projectId") Long projectId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(s.created), 0), COALESCE(SUM(s.completed), 0) FROM ProjectDailyStats s "
+            + "WHERE s.projectId = :projectId AND s.day < :before")
+    List<Object[]> sumProjectBefore(@Param("projectId") Long projectId, @Param("before") LocalDate before);
+
+    @Query("SELECT s.day, s.created, s.completed FROM UserDailyStats s "
+            + "WHERE s.userId = :userId AND s.day BETWEEN :from AND :to ORDER BY s.day")
+    List<Object[]> findUserDays(@Param("userId") Long userId,
+                                @Param("from") LocalDate from,
+                                @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(s.created), 0), COALESCE(SUM(s.completed), 0) FROM UserDailyStats s "
+            + "WHERE s.userId = :userId AND s.day < :before")
+    List<Object[]> sumUserBefore(@Param("userId") Long userId, @Param("before") LocalDate before);
+}
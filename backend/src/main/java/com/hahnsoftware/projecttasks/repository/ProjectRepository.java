@@ -1,13 +1,84 @@
 package com.hahnsoftware.projecttasks.repository;
 
+import com.hahnsoftware.projecttasks.dto.ProjectResponseDTO;
 import com.hahnsoftware.projecttasks.model.Project;
-import com.hahnsoftware.projecttasks.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
-    List<Project> findByUser(User user);
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Row-locked load taken before any of the project's tasks change, so writers always lock the
+     * project row before task rows.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id = :id")
+    Optional<Project> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * Row-locked load for project edits, taking the lock in the same order as task changes do.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<Project> findForUpdateByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * The project's current version, read from the database rather than the second-level cache,
+     * whose entries can be stale on instances that did not handle the latest write.
+     */
+    @Query("SELECT p.version FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * {@code [id, version]} rows of the same keyset page as {@link #findSummaryPageByUserId}, enough
+     * to tell whether that page changed without computing the summaries.
+     */
+    @Query("SELECT p.id, p.version FROM Project p WHERE p.user.id = :userId AND p.id > :afterId ORDER BY p.id")
+    List<Object[]> findVersionPageByUserId(@Param("userId") Long userId,
+                                           @Param("afterId") Long afterId,
+                                           Limit limit);
+
+    /**
+     * Forward-only cursor over a user's projects for exports; must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Project p WHERE p.user.id = :userId ORDER BY p.id")
+    Stream<Project> streamByUserId(@Param("userId") Long userId);
+
+    String SUMMARY_SELECT = "SELECT new com.hahnsoftware.projecttasks.dto.ProjectResponseDTO("
+            + "p.id, p.title, p.description, p.createdAt, COUNT(t.id), "
+            + "SUM(CASE WHEN t.completed = true THEN 1L ELSE 0L END)) "
+            + "FROM Project p LEFT JOIN p.tasks t ";
+
+    String SUMMARY_GROUP_BY = " GROUP BY p.id, p.title, p.description, p.createdAt";
+
+    /**
+     * Keyset page of summaries with task counts computed in the database, so no Task is ever
+     * hydrated. Seeks on (user_id, id) so deep pages cost the same as the first.
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.user.id = :userId AND p.id > :afterId" + SUMMARY_GROUP_BY + " ORDER BY p.id")
+    List<ProjectResponseDTO> findSummaryPageByUserId(@Param("userId") Long userId,
+                                                     @Param("afterId") Long afterId,
+                                                     Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE p.id = :id AND p.user.id = :userId" + SUMMARY_GROUP_BY)
+    Optional<ProjectResponseDTO> findSummaryByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
\ No newline at end of file
@@ -1,13 +1,62 @@
 package com.hahnsoftware.projecttasks.repository;
 
+import com.hahnsoftware.projecttasks.dto.TaskSearchDocument;
 import com.hahnsoftware.projecttasks.model.Task;
-import com.hahnsoftware.projecttasks.model.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByProject(Project project);
+    List<Task> findByProjectIdAndIdGreaterThanOrderByIdAsc(Long projectId, Long afterId, Limit limit);
+
+    List<Task> findByProjectIdAndIdIn(Long projectId, Collection<Long> ids);
+
+    /**
+     * Forward-only cursor over every task owned by a user, grouped by project; must be consumed
+     * inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Task t WHERE t.project.user.id = :userId ORDER BY t.project.id, t.id")
+    Stream<Task> streamByOwnerId(@Param("userId") Long userId);
+
+    String SEARCH_DOCUMENT_SELECT = "SELECT new com.hahnsoftware.projecttasks.dto.TaskSearchDocument("
+            + "t.id, p.id, p.user.id, t.title, t.description) FROM Task t JOIN t.project p ";
+
+    /**
+     * Cursor over the searchable fields of every task, for rebuilding the search index.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SEARCH_DOCUMENT_SELECT)
+    Stream<TaskSearchDocument> streamSearchDocuments();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SEARCH_DOCUMENT_SELECT + "WHERE p.user.id = :userId")
+    Stream<TaskSearchDocument> streamSearchDocumentsByOwnerId(@Param("userId") Long userId);
+
+    /**
+     * Task lookup scoped to its project, fetching the project (and so its owner id) in the same statement.
+     */
+    @Query("SELECT t FROM Task t JOIN FETCH t.project p WHERE t.id = :taskId AND p.id = :projectId")
+    Optional<Task> findWithProjectByIdAndProjectId(@Param("taskId") Long taskId, @Param("projectId") Long projectId);
 }
\ No newline at end of file
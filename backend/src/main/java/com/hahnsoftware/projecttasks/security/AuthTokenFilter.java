@@ -1,5 +1,8 @@
 package com.hahnsoftware.projecttasks.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +17,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
 
@@ -22,10 +26,20 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImpl userDetailsService;
 
+    private final Timer tokenValid;
+    private final Timer tokenInvalid;
+    private final Timer userFromClaims;
+    private final Timer userFromDatabase;
+
     public AuthTokenFilter(JwtUtils jwtUtils,
-                           UserDetailsServiceImpl userDetailsService) {
+                           UserDetailsServiceImpl userDetailsService,
+                           MeterRegistry meterRegistry) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.tokenValid = stageTimer(meterRegistry, "auth.token.verification", "outcome", "valid");
+        this.tokenInvalid = stageTimer(meterRegistry, "auth.token.verification", "outcome", "invalid");
+        this.userFromClaims = stageTimer(meterRegistry, "auth.user.lookup", "source", "claims");
+        this.userFromDatabase = stageTimer(meterRegistry, "auth.user.lookup", "source", "database");
     }
 
     @Override
@@ -33,10 +47,21 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = null;
+            if (jwt != null) {
+                long start = System.nanoTime();
+                claims = jwtUtils.parseAndValidate(jwt);
+                (claims != null ? tokenValid : tokenInvalid).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (claims != null) {
+                long start = System.nanoTime();
+                UserDetails userDetails = UserDetailsImpl.fromClaims(claims);
+                if (userDetails != null) {
+                    userFromClaims.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                } else {
+                    userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+                    userFromDatabase.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
 
                 UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(userDetails,
@@ -54,6 +79,12 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private static Timer stageTimer(MeterRegistry meterRegistry, String name, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue)
+                .register(meterRegistry);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
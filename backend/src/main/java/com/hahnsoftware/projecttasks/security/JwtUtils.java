@@ -2,27 +2,53 @@ package com.hahnsoftware.projecttasks.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private int verifiedTokenCacheSize;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokens;
+
+    /**
+     * Builds the HMAC key and the (immutable, thread-safe) parser once, instead of on every call.
+     */
+    @PostConstruct
+    public void init() {
+        this.signingKey = getSigningKey();
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = new VerifiedTokenCache(verifiedTokenCacheSize);
+    }
+
     private Key getSigningKey() {
        
         if (jwtSecret == null || jwtSecret.isEmpty()) {
@@ -46,31 +72,38 @@ public class JwtUtils {
 
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
+                .claim(CLAIM_ROLES, roles);
+        if (userPrincipal instanceof UserDetailsImpl userDetails) {
+            builder.claim(CLAIM_USER_ID, userDetails.getId());
+        }
+
+        return builder
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
+    /**
+     * Verifies the token signature and expiry once and returns its claims, or {@code null} if the
+     * token is not valid. Recently verified tokens are served from a bounded cache until they expire.
+     */
+    public Claims parseAndValidate(String authToken) {
+        Claims cached = verifiedTokens.get(authToken);
+        if (cached != null) {
+            return cached;
+        }
 
-    public boolean validateJwtToken(String authToken) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+            verifiedTokens.put(authToken, claims);
+            return claims;
         } catch (MalformedJwtException e) {
             logger.warn("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -79,7 +112,13 @@ public class JwtUtils {
             logger.warn("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.warn("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.warn("Invalid JWT signature: {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    public int getVerifiedTokenCacheSize() {
+        return verifiedTokens.size();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package com.hahnsoftware.projecttasks.security;
+
+import com.hahnsoftware.projecttasks.exception.ErrorResponseWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link RateLimiter} as one of two stages. The {@link Key#ADDRESS} stage runs before
+ * authentication and limits every request per client address, so a flood is rejected before any
+ * token is parsed. The {@link Key#USER} stage runs after it and also limits signed-in requests
+ * per user, so one account cannot spread its traffic over many addresses. Rejections are a 429
+ * with Retry-After, written without touching the rest of the chain.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public enum Key {
+        ADDRESS, USER
+    }
+
+    private final Key key;
+    private final RateLimiter rateLimiter;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final Map<RateLimiter.Group, Counter> rejected = new EnumMap<>(RateLimiter.Group.class);
+
+    public RateLimitFilter(Key key, RateLimiter rateLimiter, ErrorResponseWriter errorResponseWriter,
+                           MeterRegistry meterRegistry) {
+        this.key = key;
+        this.rateLimiter = rateLimiter;
+        this.errorResponseWriter = errorResponseWriter;
+        for (RateLimiter.Group group : RateLimiter.Group.values()) {
+            rejected.put(group, Counter.builder("http.server.requests.rate_limited")
+                    .tag("group", group.name().toLowerCase(Locale.ROOT))
+                    .tag("key", key.name().toLowerCase(Locale.ROOT))
+                    .description("Requests rejected with 429 by the rate limiter")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Both stages are instances of this class; by default they would share the marker and the
+     * second one would skip every request.
+     */
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return RateLimitFilter.class.getName() + "." + key + ".FILTERED";
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.Group group = request.getRequestURI().startsWith("/auth/")
+                ? RateLimiter.Group.AUTH
+                : RateLimiter.Group.API;
+        Object client = client(request);
+        if (client == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long waitNanos = rateLimiter.tryAcquire(group, client);
+        if (waitNanos > 0) {
+            rejected.get(group).increment();
+            reject(request, response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * The remote address (the original client's when server.forward-headers-strategy trusts the
+     * proxy in front), or the user id, null for anonymous requests. The two never collide as
+     * bucket keys: one is a String, the other a Long.
+     */
+    private Object client(HttpServletRequest request) {
+        if (key == Key.ADDRESS) {
+            return request.getRemoteAddr();
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(
+                waitNanos + TimeUnit.SECONDS.toNanos(1) - 1))));
+        errorResponseWriter.write(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                "Rate limit exceeded, please retry later");
+    }
+}
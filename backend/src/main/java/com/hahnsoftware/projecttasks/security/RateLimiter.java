@@ -0,0 +1,96 @@
+package com.hahnsoftware.projecttasks.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per endpoint group and client, implemented with GCRA: each bucket is a single
+ * "theoretical arrival time" advanced by one emission interval per request with a CAS, so a check
+ * is a hash lookup plus one atomic update and never blocks. Buckets live in a
+ * {@link ConcurrentHashMap} per group; a bucket whose arrival time has passed is indistinguishable
+ * from a fresh one, so the periodic sweep drops it without losing state.
+ */
+@Component
+public class RateLimiter {
+
+    public enum Group {
+        AUTH, API
+    }
+
+    private final Map<Group, Limit> limits = new EnumMap<>(Group.class);
+
+    public RateLimiter(@Value("${rate-limit.auth.requests-per-second:5}") double authRate,
+                       @Value("${rate-limit.auth.burst:20}") int authBurst,
+                       @Value("${rate-limit.api.requests-per-second:50}") double apiRate,
+                       @Value("${rate-limit.api.burst:200}") int apiBurst,
+                       MeterRegistry meterRegistry) {
+        limits.put(Group.AUTH, new Limit(authRate, authBurst));
+        limits.put(Group.API, new Limit(apiRate, apiBurst));
+        limits.forEach((group, limit) -> Gauge.builder("rate_limit.buckets", limit.buckets, Map::size)
+                .tag("group", group.name().toLowerCase(Locale.ROOT))
+                .description("Clients with a partly drained rate limit bucket")
+                .register(meterRegistry));
+    }
+
+    /**
+     * Takes one request from the client's bucket. Returns 0 when the request may proceed, otherwise
+     * the nanoseconds until it would have been allowed.
+     */
+    public long tryAcquire(Group group, Object client) {
+        Limit limit = limits.get(group);
+        if (limit.intervalNanos == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        AtomicLong arrival = limit.buckets.get(client);
+        if (arrival == null) {
+            arrival = limit.buckets.computeIfAbsent(client, key -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = arrival.get();
+            long start = Math.max(current, now);
+            long excess = start - now - limit.toleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrival.compareAndSet(current, start + limit.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops full buckets. A request racing with the removal may go uncounted, which only errs
+     * towards letting it through.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (Limit limit : limits.values()) {
+            limit.buckets.values().removeIf(arrival -> arrival.get() - now <= 0);
+        }
+    }
+
+    private static final class Limit {
+        // 0 when the group is not limited
+        private final long intervalNanos;
+        // How far ahead of now the arrival time may run: the burst beyond the steady rate
+        private final long toleranceNanos;
+        private final Map<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+        private Limit(double requestsPerSecond, int burst) {
+            this.intervalNanos = requestsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond) : 0;
+            this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.hahnsoftware.projecttasks.security;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.hahnsoftware.projecttasks.model.User;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -38,6 +39,30 @@ public class UserDetailsImpl implements UserDetails {
                 authorities);
     }
 
+    /**
+     * Rebuilds the principal from verified token claims so authenticated requests need no user lookup.
+     * Returns {@code null} for tokens issued before the user id was embedded in them.
+     */
+    public static UserDetailsImpl fromClaims(Claims claims) {
+        Long id = claims.get(JwtUtils.CLAIM_USER_ID, Long.class);
+        if (id == null) {
+            return null;
+        }
+
+        List<?> roles = claims.get(JwtUtils.CLAIM_ROLES, List.class);
+        List<GrantedAuthority> authorities = roles == null
+                ? List.of(new SimpleGrantedAuthority("ROLE_USER"))
+                : roles.stream()
+                    .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+                    .toList();
+
+        return new UserDetailsImpl(
+                id,
+                claims.getSubject(),
+                null,
+                authorities);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
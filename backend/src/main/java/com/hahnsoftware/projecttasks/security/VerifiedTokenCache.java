@@ -0,0 +1,101 @@
+package com.hahnsoftware.projecttasks.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, keyed by the raw token string.
+ * Entries are never returned past the token's own expiry, so a hit is as good as a fresh parse.
+ *
+ * <p>Eviction runs when the cache is full and always frees a tenth of it, so the scan is paid once
+ * per {@code maxSize / 10} inserts rather than on every insert, and only one thread scans at a time.
+ */
+class VerifiedTokenCache {
+
+    private final int maxSize;
+    // Size eviction brings the cache down to
+    private final int lowWater;
+    private final Map<String, Entry> entries;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.lowWater = maxSize - Math.max(1, maxSize / 10);
+        this.entries = new ConcurrentHashMap<>(Math.max(16, maxSize / 4));
+    }
+
+    Claims get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.expiresAtMs <= System.currentTimeMillis()) {
+            entries.remove(token, entry);
+            return null;
+        }
+        return entry.claims;
+    }
+
+    void put(String token, Claims claims) {
+        if (maxSize <= 0) {
+            return;
+        }
+
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(token, new Entry(claims, expiration.getTime()));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops expired entries, then arbitrary live ones (in hash order, so effectively at random) down
+     * to the low-water mark, rather than tracking recency on the hot path. Inserts racing with a
+     * running eviction skip it and may overshoot the bound by a few entries.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAtMs <= now);
+
+            Iterator<Entry> live = entries.values().iterator();
+            while (entries.size() > lowWater && live.hasNext()) {
+                live.next();
+                live.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static final class Entry {
+        private final Claims claims;
+        private final long expiresAtMs;
+
+        private Entry(Claims claims, long expiresAtMs) {
+            this.claims = claims;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.hahnsoftware.projecttasks.service;
+
+import com.hahnsoftware.projecttasks.dto.CursorPage;
+import com.hahnsoftware.projecttasks.event.ProjectChangedEvent;
+import com.hahnsoftware.projecttasks.event.TaskChangedEvent;
+import com.hahnsoftware.projecttasks.exception.ResourceNotFoundException;
+import com.hahnsoftware.projecttasks.model.ActivityEntry;
+import com.hahnsoftware.projecttasks.repository.ActivityRepository;
+import com.hahnsoftware.projecttasks.repository.ProjectRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only activity log of task and project changes. Committed changes are queued in a bounded
+ * ring buffer and a single writer thread inserts them in batches, so mutations never wait on the
+ * audit insert. When the buffer is full, producers wait briefly for the writer and then drop the
+ * entry (counted in {@code activity.dropped}). A batch that fails to insert is retried a bounded
+ * number of times if the failure is transient, and otherwise dropped and counted the same way. The
+ * writer drains the buffer before the application context shuts down; entries appear in reads up to
+ * one flush interval after the change.
+ */
+@Service
+public class ActivityService implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityService.class);
+
+    private static final String INSERT = "INSERT INTO activity_log "
+            + "(project_id, task_id, user_id, action, title, occurred_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long OFFER_PAUSE_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final ActivityRepository activityRepository;
+    private final ProjectRepository projectRepository;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final ActivityRingBuffer<ActivityEntry> buffer;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final long shutdownTimeoutMillis;
+    private final Counter written;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public ActivityService(ActivityRepository activityRepository,
+                           ProjectRepository projectRepository,
+                           UserService userService,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${activity.buffer-size:65536}") int bufferSize,
+                           @Value("${activity.batch-size:500}") int batchSize,
+                           @Value("${activity.max-attempts:5}") int maxAttempts,
+                           @Value("${activity.flush-interval-ms:200}") long flushIntervalMs,
+                           @Value("${activity.offer-timeout-ms:50}") long offerTimeoutMs,
+                           @Value("${activity.shutdown-timeout-seconds:10}") long shutdownTimeoutSeconds) {
+        this.activityRepository = activityRepository;
+        this.projectRepository = projectRepository;
+        this.userService = userService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.buffer = new ActivityRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        this.shutdownTimeoutMillis = TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds);
+
+        Gauge.builder("activity.pending", buffer, ActivityRingBuffer::size)
+                .description("Activity entries waiting to be written")
+                .register(meterRegistry);
+        this.written = Counter.builder("activity.written")
+                .description("Activity entries written to the database")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("activity.dropped")
+                .description("Activity entries lost because the buffer was full or the database unavailable")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Newest entries first; the cursor wraps the last id seen and the next page continues below it.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ActivityEntry> getActivity(Long projectId, String cursor, Integer limit) {
+        Long currentUserId = userService.getCurrentUserId();
+        projectRepository.findById(projectId)
+                .filter(project -> project.getUser().getId().equals(currentUserId))
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found or access denied"));
+
+        int pageSize = CursorPage.clampLimit(limit);
+        long beforeId = CursorPage.decodeCursor(cursor);
+        List<ActivityEntry> entries = activityRepository.findByProjectIdAndIdLessThanOrderByIdDesc(
+                projectId, beforeId == 0 ? Long.MAX_VALUE : beforeId, Limit.of(pageSize + 1));
+        return CursorPage.of(entries, pageSize, ActivityEntry::getId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        record(new ActivityEntry(null, event.projectId(), event.taskId(), event.userId(),
+                "task." + event.type().name().toLowerCase(Locale.ROOT), event.title(), LocalDateTime.now()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        record(new ActivityEntry(null, event.projectId(), null, event.userId(),
+                "project." + event.type().name().toLowerCase(Locale.ROOT), event.title(), LocalDateTime.now()));
+    }
+
+    private void record(ActivityEntry entry) {
+        if (buffer.offer(entry)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+        // Full: hurry the writer along and give it a moment to make room
+        LockSupport.unpark(writer);
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(OFFER_PAUSE_NANOS);
+            if (buffer.offer(entry)) {
+                return;
+            }
+        }
+        dropped.increment();
+    }
+
+    private void writeLoop() {
+        List<ActivityEntry> batch = new ArrayList<>(batchSize);
+        double reportedDrops = 0;
+        while (running || buffer.size() > 0) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                if (running) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+                continue;
+            }
+            write(batch);
+            batch.clear();
+
+            if (dropped.count() > reportedDrops) {
+                logger.warn("Activity log dropped {} entries so far", (long) dropped.count());
+                reportedDrops = dropped.count();
+            }
+        }
+    }
+
+    /**
+     * Retries transient failures up to {@code activity.max-attempts} times, backing off a little
+     * longer each time; the buffer fills up and sheds load in the meantime. Anything else (a
+     * constraint violation, an oversized value) would fail again, so the batch is dropped at once
+     * rather than holding up every entry behind it.
+     */
+    private void write(List<ActivityEntry> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writeTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, batch, batch.size(),
+                        (statement, entry) -> {
+                            statement.setLong(1, entry.getProjectId());
+                            statement.setObject(2, entry.getTaskId(), Types.BIGINT);
+                            statement.setLong(3, entry.getUserId());
+                            statement.setString(4, entry.getAction());
+                            statement.setString(5, entry.getTitle());
+                            statement.setTimestamp(6, Timestamp.valueOf(entry.getOccurredAt()));
+                        }));
+                written.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (!running || attempt >= maxAttempts || !isTransient(e)) {
+                    logger.error("Dropping {} activity entries after {} failed attempt(s)", batch.size(), attempt, e);
+                    dropped.increment(batch.size());
+                    return;
+                }
+                logger.warn("Could not write {} activity entries (attempt {} of {}), retrying",
+                        batch.size(), attempt, maxAttempts, e);
+                LockSupport.parkNanos(this, RETRY_BACKOFF_NANOS * attempt);
+            }
+        }
+    }
+
+    /**
+     * Failures that may pass on their own: lock timeouts, deadlocks, serialization failures,
+     * dropped connections, or no connection to start the transaction with.
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::writeLoop, "activity-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    /**
+     * Lets the writer drain what is left in the buffer, waiting at most the shutdown timeout.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            logger.warn("Activity writer did not finish within {} ms, {} entries pending",
+                    shutdownTimeoutMillis, buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so requests still completing during a graceful
+     * shutdown get their entries written.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -3,6 +3,7 @@ package com.hahnsoftware.projecttasks.service;
 import com.hahnsoftware.projecttasks.dto.JwtResponse;
 import com.hahnsoftware.projecttasks.dto.LoginRequest;
 import com.hahnsoftware.projecttasks.dto.SignupRequest;
+import com.hahnsoftware.projecttasks.exception.ConflictException;
 import com.hahnsoftware.projecttasks.model.User;
 import com.hahnsoftware.projecttasks.repository.UserRepository;
 import com.hahnsoftware.projecttasks.security.JwtUtils;
@@ -13,7 +14,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -60,10 +60,13 @@ public class AuthService {
         );
     }
 
-    @Transactional
+    /**
+     * Not transactional on purpose: the BCrypt hash must not hold a pooled connection while it
+     * waits for the hashing executor. The unique constraint on email still guards the race.
+     */
     public void register(SignupRequest signUpRequest) {
         if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            throw new IllegalArgumentException("Error: Email is already in use!");
+            throw new ConflictException("Error: Email is already in use!");
         }
 
         User user = new User(
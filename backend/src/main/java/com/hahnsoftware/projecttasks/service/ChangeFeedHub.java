@@ -0,0 +1,200 @@
+package com.hahnsoftware.projecttasks.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory fan-out of server-sent events to per-project and per-user subscribers. Publishing
+ * never blocks: frames are queued per subscriber and written by a drain task only while there is
+ * something to send, so an idle subscription holds no thread and no buffer. A subscriber whose
+ * queue reaches the limit is considered too slow and disconnected; the client reconnects and
+ * refetches.
+ */
+class ChangeFeedHub {
+
+    private final Map<Long, Set<Subscriber>> byProject = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Executor drainExecutor;
+    private final int bufferSize;
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    ChangeFeedHub(Executor drainExecutor, int bufferSize) {
+        this.drainExecutor = drainExecutor;
+        this.bufferSize = bufferSize;
+    }
+
+    Subscriber subscribeToProject(Long projectId, SseEmitter emitter) {
+        return register(byProject, projectId, emitter);
+    }
+
+    Subscriber subscribeToUser(Long userId, SseEmitter emitter) {
+        return register(byUser, userId, emitter);
+    }
+
+    void publishToProject(Long projectId, Frame frame) {
+        forEach(byProject.get(projectId), subscriber -> subscriber.offer(frame));
+    }
+
+    void publishToUser(Long userId, Frame frame) {
+        forEach(byUser.get(userId), subscriber -> subscriber.offer(frame));
+    }
+
+    void publishToAll(Frame frame) {
+        byProject.values().forEach(subscribers -> forEach(subscribers, subscriber -> subscriber.offer(frame)));
+        byUser.values().forEach(subscribers -> forEach(subscribers, subscriber -> subscriber.offer(frame)));
+    }
+
+    /**
+     * Ends every stream of a project, e.g. after it was deleted.
+     */
+    void closeProject(Long projectId) {
+        forEach(byProject.get(projectId), subscriber -> subscriber.close(true));
+    }
+
+    /**
+     * Ends every stream, e.g. on shutdown, so open connections do not hold up the web server.
+     */
+    void closeAll() {
+        byProject.values().forEach(subscribers -> forEach(subscribers, subscriber -> subscriber.close(true)));
+        byUser.values().forEach(subscribers -> forEach(subscribers, subscriber -> subscriber.close(true)));
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    long evictedCount() {
+        return evictedCount.get();
+    }
+
+    private Subscriber register(Map<Long, Set<Subscriber>> index, Long key, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, index, key);
+        // compute rather than computeIfAbsent: an empty set is dropped atomically under the same key lock
+        index.compute(key, (k, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> subscriber.close(false));
+        emitter.onTimeout(() -> subscriber.close(false));
+        emitter.onError(error -> subscriber.close(false));
+        return subscriber;
+    }
+
+    private static void forEach(Set<Subscriber> subscribers, Consumer<Subscriber> action) {
+        if (subscribers != null) {
+            subscribers.forEach(action);
+        }
+    }
+
+    /**
+     * A pre-rendered event, shared by every subscriber it is delivered to.
+     */
+    record Frame(String name, String data, String comment) {
+
+        static Frame event(String name, String data) {
+            return new Frame(name, data, null);
+        }
+
+        static Frame comment(String comment) {
+            return new Frame(null, null, comment);
+        }
+
+        private SseEmitter.SseEventBuilder toEvent() {
+            SseEmitter.SseEventBuilder event = SseEmitter.event();
+            if (comment != null) {
+                event.comment(comment);
+            }
+            if (name != null) {
+                event.name(name);
+            }
+            if (data != null) {
+                event.data(data);
+            }
+            return event;
+        }
+    }
+
+    final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<Frame> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final Map<Long, Set<Subscriber>> index;
+        private final Long key;
+
+        private Subscriber(SseEmitter emitter, Map<Long, Set<Subscriber>> index, Long key) {
+            this.emitter = emitter;
+            this.index = index;
+            this.key = key;
+        }
+
+        void offer(Frame frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (queued.incrementAndGet() > bufferSize) {
+                evictedCount.incrementAndGet();
+                close(true);
+                return;
+            }
+            queue.add(frame);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                drainExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            Frame frame;
+            while ((frame = queue.poll()) != null) {
+                queued.decrementAndGet();
+                if (closed.get()) {
+                    continue;
+                }
+                try {
+                    emitter.send(frame.toEvent());
+                } catch (IOException | IllegalStateException e) {
+                    close(false);
+                }
+            }
+            draining.set(false);
+            // A frame offered between the last poll and clearing the flag would otherwise wait for the next one
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void close(boolean completeEmitter) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            index.computeIfPresent(key, (k, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+            subscriberCount.decrementAndGet();
+            if (completeEmitter) {
+                emitter.complete();
+            }
+        }
+    }
+}
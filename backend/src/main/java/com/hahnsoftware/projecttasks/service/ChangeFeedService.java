@@ -0,0 +1,154 @@
+package com.hahnsoftware.projecttasks.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahnsoftware.projecttasks.dto.ChangeFeedEvent;
+import com.hahnsoftware.projecttasks.event.DataImportedEvent;
+import com.hahnsoftware.projecttasks.event.ProjectChangedEvent;
+import com.hahnsoftware.projecttasks.event.TaskChangedEvent;
+import com.hahnsoftware.projecttasks.exception.ResourceNotFoundException;
+import com.hahnsoftware.projecttasks.repository.ProjectRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-sent change feeds: one stream per project and one per user covering all of their
+ * projects. Events are rendered once after the change commits and handed to {@link ChangeFeedHub}.
+ * A heartbeat comment keeps idle streams alive through proxies and flushes out dead clients.
+ */
+@Service
+public class ChangeFeedService {
+
+    private final ProjectRepository projectRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+
+    private final ExecutorService drainExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-feed-", 0).factory());
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ChangeFeedHub hub;
+
+    public ChangeFeedService(ProjectRepository projectRepository,
+                             UserService userService,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${changes.buffer-size:256}") int bufferSize,
+                             @Value("${changes.heartbeat-seconds:25}") long heartbeatSeconds,
+                             @Value("${changes.timeout-minutes:30}") long timeoutMinutes) {
+        this.projectRepository = projectRepository;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.hub = new ChangeFeedHub(drainExecutor, bufferSize);
+
+        ChangeFeedHub.Frame ping = ChangeFeedHub.Frame.comment("ping");
+        heartbeat.scheduleAtFixedRate(() -> hub.publishToAll(ping), heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+
+        Gauge.builder("changes.subscribers", hub, ChangeFeedHub::subscriberCount)
+                .description("Open change feed streams")
+                .register(meterRegistry);
+        FunctionCounter.builder("changes.evicted", hub, ChangeFeedHub::evictedCount)
+                .description("Change feed subscribers disconnected for falling behind")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeToProject(Long projectId) {
+        Long currentUserId = userService.getCurrentUserId();
+        projectRepository.findById(projectId)
+                .filter(project -> project.getUser().getId().equals(currentUserId))
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found or access denied"));
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        hub.subscribeToProject(projectId, emitter).offer(ChangeFeedHub.Frame.comment("subscribed"));
+        return emitter;
+    }
+
+    public SseEmitter subscribeToUser() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        hub.subscribeToUser(userService.getCurrentUserId(), emitter).offer(ChangeFeedHub.Frame.comment("subscribed"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        ChangeFeedHub.Frame frame = frame(new ChangeFeedEvent(
+                "task." + event.type().name().toLowerCase(Locale.ROOT),
+                event.projectId(),
+                event.taskId(),
+                event.title(),
+                event.description(),
+                event.completed(),
+                null,
+                null));
+        hub.publishToProject(event.projectId(), frame);
+        hub.publishToUser(event.userId(), frame);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        ChangeFeedHub.Frame frame = frame(new ChangeFeedEvent(
+                "project." + event.type().name().toLowerCase(Locale.ROOT),
+                event.projectId(),
+                null,
+                event.title(),
+                null,
+                null,
+                null,
+                null));
+        hub.publishToProject(event.projectId(), frame);
+        hub.publishToUser(event.userId(), frame);
+        if (event.type() == ProjectChangedEvent.Type.DELETED) {
+            hub.closeProject(event.projectId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataImported(DataImportedEvent event) {
+        hub.publishToUser(event.userId(), frame(new ChangeFeedEvent(
+                "data.imported", null, null, null, null, null,
+                event.projectsImported(), event.tasksImported())));
+    }
+
+    /**
+     * Runs before the web server stops; streams left open would keep it waiting until they time out.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void closeStreams() {
+        hub.closeAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        drainExecutor.shutdownNow();
+    }
+
+    private ChangeFeedHub.Frame frame(ChangeFeedEvent event) {
+        try {
+            return ChangeFeedHub.Frame.event(event.getType(), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize change event", e);
+        }
+    }
+}
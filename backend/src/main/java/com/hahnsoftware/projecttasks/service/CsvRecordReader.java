@@ -0,0 +1,110 @@
+package com.hahnsoftware.projecttasks.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: quoted fields may contain commas, doubled quotes and line
+ * breaks. Reads one record at a time so arbitrarily large uploads are never held in memory.
+ */
+class CsvRecordReader {
+
+    private final Reader reader;
+    private int lineNumber = 1;
+    private int recordStartLine;
+    private int pushedBack = -2;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the next record, or {@code null} at end of input. Unquoted empty fields are returned
+     * as {@code null}, quoted empty fields as the empty string.
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        recordStartLine = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordStartLine);
+                }
+                if (c == '"') {
+                    int peek = read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = peek;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(toField(field, wasQuoted));
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\r') {
+                int peek = read();
+                if (peek != '\n') {
+                    pushedBack = peek;
+                }
+                lineNumber++;
+                break;
+            } else if (c == '\n') {
+                lineNumber++;
+                break;
+            } else if (c == -1) {
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+
+        fields.add(toField(field, wasQuoted));
+        return fields;
+    }
+
+    /**
+     * Line on which the record last returned by {@link #next()} started.
+     */
+    int getRecordStartLine() {
+        return recordStartLine;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private static String toField(StringBuilder field, boolean wasQuoted) {
+        if (field.length() == 0 && !wasQuoted) {
+            return null;
+        }
+        return field.toString();
+    }
+}
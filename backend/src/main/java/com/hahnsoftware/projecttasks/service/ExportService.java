@@ -0,0 +1,179 @@
+package com.hahnsoftware.projecttasks.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahnsoftware.projecttasks.dto.DataFormat;
+import com.hahnsoftware.projecttasks.model.Project;
+import com.hahnsoftware.projecttasks.model.Task;
+import com.hahnsoftware.projecttasks.repository.ProjectRepository;
+import com.hahnsoftware.projecttasks.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams everything a user owns straight from database cursors to the response. Each entity is
+ * written and detached before the next row is read, so memory stays flat regardless of volume.
+ */
+@Service
+public class ExportService {
+
+    private static final int FLUSH_EVERY = 500;
+    private static final String CSV_HEADER = "type,id,project_id,title,description,completed,created_at,completed_at\n";
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExportService(ProjectRepository projectRepository,
+                         TaskRepository taskRepository,
+                         ObjectMapper objectMapper) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes all projects, then all tasks, of the given user. Runs on the async response thread,
+     * so the user id is passed in rather than read from the security context.
+     */
+    @Transactional(readOnly = true)
+    public void export(Long userId, DataFormat format, OutputStream out) throws IOException {
+        if (format == DataFormat.NDJSON) {
+            writeNdjson(userId, out);
+        } else {
+            writeCsv(userId, out);
+        }
+    }
+
+    private void writeNdjson(Long userId, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are newline-terminated below; no extra separator between root values
+            generator.setRootValueSeparator(null);
+
+            try (Stream<Project> projects = projectRepository.streamByUserId(userId)) {
+                forEachDetached(projects, project -> {
+                    generator.writeStartObject();
+                    generator.writeStringField("type", "project");
+                    generator.writeNumberField("id", project.getId());
+                    generator.writeStringField("title", project.getTitle());
+                    generator.writeStringField("description", project.getDescription());
+                    generator.writeStringField("createdAt",
+                            project.getCreatedAt() != null ? project.getCreatedAt().toString() : null);
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                }, generator::flush);
+            }
+
+            try (Stream<Task> tasks = taskRepository.streamByOwnerId(userId)) {
+                forEachDetached(tasks, task -> {
+                    generator.writeStartObject();
+                    generator.writeStringField("type", "task");
+                    generator.writeNumberField("id", task.getId());
+                    generator.writeNumberField("projectId", task.getProject().getId());
+                    generator.writeStringField("title", task.getTitle());
+                    generator.writeStringField("description", task.getDescription());
+                    generator.writeBooleanField("completed", Boolean.TRUE.equals(task.getCompleted()));
+                    generator.writeStringField("createdAt",
+                            task.getCreatedAt() != null ? task.getCreatedAt().toString() : null);
+                    generator.writeStringField("completedAt",
+                            task.getCompletedAt() != null ? task.getCompletedAt().toString() : null);
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                }, generator::flush);
+            }
+        }
+    }
+
+    private void writeCsv(Long userId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+
+        try (Stream<Project> projects = projectRepository.streamByUserId(userId)) {
+            forEachDetached(projects, project -> {
+                writer.write("project,");
+                writer.write(String.valueOf(project.getId()));
+                writer.write(",,");
+                writeCsvField(writer, project.getTitle());
+                writer.write(',');
+                writeCsvField(writer, project.getDescription());
+                writer.write(",,");
+                writer.write(project.getCreatedAt() != null ? project.getCreatedAt().toString() : "");
+                writer.write(",\n");
+            }, writer::flush);
+        }
+
+        try (Stream<Task> tasks = taskRepository.streamByOwnerId(userId)) {
+            forEachDetached(tasks, task -> {
+                writer.write("task,");
+                writer.write(String.valueOf(task.getId()));
+                writer.write(',');
+                writer.write(String.valueOf(task.getProject().getId()));
+                writer.write(',');
+                writeCsvField(writer, task.getTitle());
+                writer.write(',');
+                writeCsvField(writer, task.getDescription());
+                writer.write(',');
+                writer.write(String.valueOf(Boolean.TRUE.equals(task.getCompleted())));
+                writer.write(',');
+                writer.write(task.getCreatedAt() != null ? task.getCreatedAt().toString() : "");
+                writer.write(',');
+                writer.write(task.getCompletedAt() != null ? task.getCompletedAt().toString() : "");
+                writer.write('\n');
+            }, writer::flush);
+        }
+        writer.flush();
+    }
+
+    private <T> void forEachDetached(Stream<T> rows, RowWriter<T> rowWriter, Flusher flusher) throws IOException {
+        Iterator<T> iterator = rows.iterator();
+        int written = 0;
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            rowWriter.write(row);
+            entityManager.detach(row);
+            if (++written % FLUSH_EVERY == 0) {
+                flusher.flush();
+            }
+        }
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Flusher {
+        void flush() throws IOException;
+    }
+}
@@ -0,0 +1,556 @@
+package com.hahnsoftware.projecttasks.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahnsoftware.projecttasks.dto.CreateProjectRequest;
+import com.hahnsoftware.projecttasks.dto.CreateTaskRequest;
+import com.hahnsoftware.projecttasks.dto.DataFormat;
+import com.hahnsoftware.projecttasks.dto.ImportError;
+import com.hahnsoftware.projecttasks.dto.ImportProgress;
+import com.hahnsoftware.projecttasks.dto.ImportResult;
+import com.hahnsoftware.projecttasks.event.DataImportedEvent;
+import com.hahnsoftware.projecttasks.exception.BadRequestException;
+import com.hahnsoftware.projecttasks.exception.ResourceNotFoundException;
+import com.hahnsoftware.projecttasks.repository.ProjectRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Loads projects and tasks from a streamed NDJSON or CSV upload (the same shapes the export
+ * produces). Rows are parsed one at a time, validated with the request DTO rules, buffered into
+ * chunks and written with PostgreSQL {@code COPY}, so the upload is never held in memory and no
+ * entities are created. Invalid rows are reported and skipped. Each chunk commits in its own
+ * transaction, so a large import never holds one long transaction, and a failure only loses the
+ * chunk in flight: the result says up to which line the file was loaded. Progress is kept per user
+ * after every chunk, for {@link #getProgress}.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    // Must match the allocationSize of the entity sequence generators
+    private static final int SEQUENCE_INCREMENT = 50;
+    private static final int SEQUENCE_VALUES_PER_FETCH = 20;
+
+    private static final String COPY_PROJECTS =
+            "COPY projects (id, title, description, created_at, user_id) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_TASKS =
+            "COPY tasks (id, title, description, completed, created_at, completed_at, project_id) FROM STDIN WITH (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectRepository projectRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatsService taskStatsService;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    // Latest import per user, running or finished
+    private final Map<Long, ImportProgress> progress = new ConcurrentHashMap<>();
+
+    public ImportService(JdbcTemplate jdbcTemplate,
+                         ProjectRepository projectRepository,
+                         ObjectMapper objectMapper,
+                         Validator validator,
+                         ApplicationEventPublisher eventPublisher,
+                         TaskStatsService taskStatsService,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${import.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.projectRepository = projectRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.taskStatsService = taskStatsService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports everything in the stream for the given user. Project rows carry a file-local
+     * {@code id} that task rows reference through {@code projectId}; a reference that is not
+     * defined earlier in the file is resolved as an existing project owned by the user.
+     *
+     * <p>If the upload turns out unreadable or loading a chunk fails, the import stops there. The
+     * chunks committed before stay, and the result carries the failure and the last line they cover,
+     * so the rest of the file can be sent again. Whatever was committed is always announced with a
+     * {@link DataImportedEvent}.
+     */
+    public ImportResult importData(Long userId, DataFormat format, InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Loader loader = new Loader(userId);
+        loader.publishProgress(true);
+
+        String failure = null;
+        boolean inputError = false;
+        try {
+            if (format == DataFormat.NDJSON) {
+                readNdjson(reader, loader);
+            } else {
+                readCsv(reader, loader);
+            }
+            loader.finish();
+        } catch (IOException | BadRequestException e) {
+            // Reading the upload failed: bad CSV header or quoting, or the client went away
+            logger.warn("Import for user {} stopped after {} chunks (line {}): {}",
+                    userId, loader.chunksCommitted, loader.lastCommittedLine, e.getMessage());
+            failure = loader.failure(e.getMessage());
+            inputError = true;
+        } catch (RuntimeException e) {
+            logger.error("Import for user {} stopped after {} chunks (line {})",
+                    userId, loader.chunksCommitted, loader.lastCommittedLine, e);
+            failure = loader.failure("Loading failed");
+        } finally {
+            loader.publishProgress(false);
+        }
+
+        logger.info("Import for user {} finished: {} projects, {} tasks, {} rows rejected",
+                userId, loader.committedProjects, loader.committedTasks, loader.rejected);
+        if (loader.chunksCommitted > 0) {
+            eventPublisher.publishEvent(new DataImportedEvent(userId, loader.committedProjects, loader.committedTasks));
+        }
+        return new ImportResult(loader.committedProjects, loader.committedTasks, loader.rejected,
+                loader.errors, loader.errorsTruncated, loader.chunksCommitted, loader.lastCommittedLine, failure,
+                inputError);
+    }
+
+    /**
+     * Progress of the user's latest import, updated as each chunk commits.
+     */
+    public ImportProgress getProgress(Long userId) {
+        ImportProgress current = progress.get(userId);
+        if (current == null) {
+            throw new ResourceNotFoundException("No import found");
+        }
+        return current;
+    }
+
+    private void readNdjson(BufferedReader reader, Loader loader) throws IOException {
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                loader.reject(lineNumber, "Malformed JSON");
+                continue;
+            }
+            if (node == null || !node.isObject()) {
+                loader.reject(lineNumber, "Expected a JSON object");
+                continue;
+            }
+
+            String projectRef = text(node, "projectId");
+            loader.accept(new Row(lineNumber,
+                    text(node, "type"),
+                    text(node, "id"),
+                    projectRef != null ? projectRef : text(node, "project_id"),
+                    text(node, "title"),
+                    text(node, "description"),
+                    text(node, "completed"),
+                    text(node, "createdAt"),
+                    text(node, "completedAt")));
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Loader loader) throws IOException {
+        CsvRecordReader records = new CsvRecordReader(reader);
+        List<String> header = records.next();
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i) != null) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        if (!columns.containsKey("type") || !columns.containsKey("title")) {
+            throw new BadRequestException("CSV header must include the type and title columns");
+        }
+
+        List<String> fields;
+        while ((fields = records.next()) != null) {
+            if (fields.size() == 1 && fields.get(0) == null) {
+                continue;
+            }
+            loader.accept(new Row(records.getRecordStartLine(),
+                    field(fields, columns, "type"),
+                    field(fields, columns, "id"),
+                    field(fields, columns, "project_id"),
+                    field(fields, columns, "title"),
+                    field(fields, columns, "description"),
+                    field(fields, columns, "completed"),
+                    field(fields, columns, "created_at"),
+                    field(fields, columns, "completed_at")));
+        }
+    }
+
+    private static String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private record Row(int line, String type, String ref, String projectRef, String title,
+                       String description, String completed, String createdAt, String completedAt) {
+    }
+
+    /**
+     * Per-import state: validates rows, assigns ids, buffers COPY payloads and tracks results.
+     */
+    private final class Loader {
+        private final Long userId;
+        private final SequenceBlock projectIds = new SequenceBlock("projects_seq");
+        private final SequenceBlock taskIds = new SequenceBlock("tasks_seq");
+        private final Map<String, Long> fileProjects = new HashMap<>();
+        private final Map<Long, Boolean> ownedProjects = new HashMap<>();
+        private final LocalDateTime importedAt = LocalDateTime.now();
+        // For the chunk being buffered: existing projects that get tasks (sorted, the order they are
+        // locked in), and per project and day the tasks created and completed
+        private final Set<Long> extendedProjects = new TreeSet<>();
+        private final Map<Long, Map<LocalDate, long[]>> taskCounts = new HashMap<>();
+
+        private final StringBuilder projectBuffer = new StringBuilder();
+        private final StringBuilder taskBuffer = new StringBuilder();
+        private int buffered;
+
+        private long projectsImported;
+        private long tasksImported;
+        private long rejected;
+        private final List<ImportError> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+        private int currentLine;
+
+        private long committedProjects;
+        private long committedTasks;
+        private int chunksCommitted;
+        private int lastCommittedLine;
+
+        private Loader(Long userId) {
+            this.userId = userId;
+        }
+
+        void accept(Row row) {
+            currentLine = row.line();
+            String type = row.type() != null ? row.type().trim().toLowerCase(Locale.ROOT) : "";
+            switch (type) {
+                case "project" -> acceptProject(row);
+                case "task" -> acceptTask(row);
+                default -> reject(row.line(), "Unknown row type: " + row.type());
+            }
+            if (buffered >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void acceptProject(Row row) {
+            String violations = violations(new CreateProjectRequest(row.title(), row.description()));
+            if (violations != null) {
+                reject(row.line(), violations);
+                return;
+            }
+
+            LocalDateTime createdAt = timestamp(row, row.createdAt(), "createdAt", LocalDateTime.now());
+            if (createdAt == null) {
+                return;
+            }
+
+            long id = projectIds.next();
+            if (row.ref() != null && !row.ref().isBlank()) {
+                fileProjects.put(row.ref().trim(), id);
+            }
+
+            appendCsv(projectBuffer, id, row.title(), row.description(), createdAt, userId);
+            buffered++;
+            projectsImported++;
+        }
+
+        private void acceptTask(Row row) {
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setTitle(row.title());
+            request.setDescription(row.description());
+            String violations = violations(request);
+            if (violations != null) {
+                reject(row.line(), violations);
+                return;
+            }
+
+            Boolean completed = Boolean.FALSE;
+            if (row.completed() != null && !row.completed().isBlank()) {
+                String value = row.completed().trim().toLowerCase(Locale.ROOT);
+                if (!value.equals("true") && !value.equals("false")) {
+                    reject(row.line(), "Invalid completed value: " + row.completed());
+                    return;
+                }
+                completed = Boolean.valueOf(value);
+            }
+
+            // Exported tasks keep their history; rows without timestamps count as created (and
+            // completed) now
+            LocalDateTime createdAt = timestamp(row, row.createdAt(), "createdAt", importedAt);
+            if (createdAt == null) {
+                return;
+            }
+            LocalDateTime completedAt = null;
+            if (completed) {
+                completedAt = timestamp(row, row.completedAt(), "completedAt", importedAt);
+                if (completedAt == null) {
+                    return;
+                }
+            }
+
+            Long projectId = resolveProject(row.projectRef());
+            if (projectId == null) {
+                reject(row.line(), "Unknown project: " + row.projectRef());
+                return;
+            }
+
+            appendCsv(taskBuffer, taskIds.next(), row.title(), row.description(), completed,
+                    createdAt, completedAt, projectId);
+            Map<LocalDate, long[]> days = taskCounts.computeIfAbsent(projectId, id -> new HashMap<>());
+            days.computeIfAbsent(createdAt.toLocalDate(), day -> new long[2])[0]++;
+            if (completedAt != null) {
+                days.computeIfAbsent(completedAt.toLocalDate(), day -> new long[2])[1]++;
+            }
+            buffered++;
+            tasksImported++;
+        }
+
+        private Long resolveProject(String ref) {
+            if (ref == null || ref.isBlank()) {
+                return null;
+            }
+            Long fromFile = fileProjects.get(ref.trim());
+            if (fromFile != null) {
+                return fromFile;
+            }
+
+            long existing;
+            try {
+                existing = Long.parseLong(ref.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            boolean owned = ownedProjects.computeIfAbsent(existing,
+                    id -> projectRepository.existsByIdAndUserId(id, userId));
+            if (!owned) {
+                return null;
+            }
+            extendedProjects.add(existing);
+            return existing;
+        }
+
+        /**
+         * The parsed value, the fallback when it is absent, or {@code null} after rejecting the row.
+         */
+        private LocalDateTime timestamp(Row row, String value, String name, LocalDateTime fallback) {
+            if (value == null || value.isBlank()) {
+                return fallback;
+            }
+            try {
+                return LocalDateTime.parse(value.trim());
+            } catch (DateTimeParseException e) {
+                reject(row.line(), "Invalid " + name + ": " + value);
+                return null;
+            }
+        }
+
+        private String violations(Object request) {
+            Set<ConstraintViolation<Object>> violations = validator.validate(request);
+            if (violations.isEmpty()) {
+                return null;
+            }
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+
+        void reject(int line, String message) {
+            currentLine = line;
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        /**
+         * Commits the buffered chunk in its own transaction. Existing projects are locked before any
+         * of their tasks are written, as in TaskService, and projects are copied before tasks so
+         * foreign keys within a chunk are satisfied.
+         */
+        void flush() {
+            if (buffered == 0) {
+                return;
+            }
+            chunkTransaction.executeWithoutResult(status -> {
+                lockExistingProjects();
+                copy(COPY_PROJECTS, projectBuffer);
+                copy(COPY_TASKS, taskBuffer);
+                countTasks();
+            });
+            projectBuffer.setLength(0);
+            taskBuffer.setLength(0);
+            extendedProjects.clear();
+            taskCounts.clear();
+            buffered = 0;
+
+            chunksCommitted++;
+            committedProjects = projectsImported;
+            committedTasks = tasksImported;
+            lastCommittedLine = currentLine;
+            publishProgress(true);
+            logger.debug("Import for user {}: {} projects, {} tasks loaded so far",
+                    userId, committedProjects, committedTasks);
+        }
+
+        /**
+         * Commits the last chunk; rejected rows after it count as processed too.
+         */
+        void finish() {
+            flush();
+            lastCommittedLine = currentLine;
+        }
+
+        String failure(String reason) {
+            if (chunksCommitted == 0) {
+                return reason + "; nothing was imported";
+            }
+            return reason + "; everything up to line " + lastCommittedLine + " was imported";
+        }
+
+        void publishProgress(boolean running) {
+            progress.put(userId, new ImportProgress(running, importedAt, chunksCommitted, lastCommittedLine,
+                    committedProjects, committedTasks, rejected));
+        }
+
+        /**
+         * Locks the existing projects that get tasks in this chunk, in id order so concurrent imports
+         * and task writes cannot deadlock, and touches them: COPY bypasses the touch TaskService
+         * does, so it happens here, through the entity so the version and cache entry move as well.
+         */
+        private void lockExistingProjects() {
+            LocalDateTime now = LocalDateTime.now();
+            for (Long projectId : extendedProjects) {
+                projectRepository.findForUpdateByIdAndUserId(projectId, userId)
+                        .ifPresent(project -> project.setUpdatedAt(now));
+            }
+        }
+
+        /**
+         * Adds the imported tasks to the daily rollups, on the days they were created and completed.
+         */
+        private void countTasks() {
+            taskCounts.forEach((projectId, days) -> days.forEach((day, counts) ->
+                    taskStatsService.added(projectId, userId, day, counts[0], counts[1])));
+        }
+
+        private void copy(String sql, StringBuilder buffer) {
+            if (buffer.length() == 0) {
+                return;
+            }
+            jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+                try {
+                    return con.unwrap(PGConnection.class).getCopyAPI()
+                            .copyIn(sql, new StringReader(buffer.toString()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("COPY failed", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Hands out ids from pooled sequence values the same way Hibernate's pooled optimizer does:
+     * a value {@code v} owns {@code [v - increment + 1, v]}, so imported rows never collide with
+     * ids the application allocates concurrently.
+     */
+    private final class SequenceBlock {
+        private final String sql;
+        private final Deque<long[]> ranges = new ArrayDeque<>();
+        private long next;
+        private long last = -1;
+
+        private SequenceBlock(String sequence) {
+            this.sql = "SELECT nextval('" + sequence + "') FROM generate_series(1, " + SEQUENCE_VALUES_PER_FETCH + ")";
+        }
+
+        long next() {
+            if (next > last) {
+                if (ranges.isEmpty()) {
+                    for (Long value : jdbcTemplate.queryForList(sql, Long.class)) {
+                        ranges.add(new long[]{Math.max(1, value - SEQUENCE_INCREMENT + 1), value});
+                    }
+                }
+                long[] range = ranges.poll();
+                next = range[0];
+                last = range[1];
+            }
+            return next++;
+        }
+    }
+
+    private static void appendCsv(StringBuilder buffer, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            // Quoted so that empty strings stay distinct from NULL
+            buffer.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+        }
+        buffer.append('\n');
+    }
+}
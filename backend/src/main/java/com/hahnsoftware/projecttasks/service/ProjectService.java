@@ -1,99 +1,118 @@
 package com.hahnsoftware.projecttasks.service;
 
 import com.hahnsoftware.projecttasks.dto.CreateProjectRequest;
+import com.hahnsoftware.projecttasks.dto.CursorPage;
 import com.hahnsoftware.projecttasks.dto.ProjectResponseDTO;
 import com.hahnsoftware.projecttasks.dto.UpdateProjectRequest;
+import com.hahnsoftware.projecttasks.event.ProjectChangedEvent;
+import com.hahnsoftware.projecttasks.exception.ResourceNotFoundException;
 import com.hahnsoftware.projecttasks.model.Project;
-import com.hahnsoftware.projecttasks.model.User;
 import com.hahnsoftware.projecttasks.repository.ProjectRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatsService taskStatsService;
 
     public ProjectService(ProjectRepository projectRepository,
-                          UserService userService) {
+                          UserService userService,
+                          ApplicationEventPublisher eventPublisher,
+                          TaskStatsService taskStatsService) {
         this.projectRepository = projectRepository;
         this.userService = userService;
+        this.eventPublisher = eventPublisher;
+        this.taskStatsService = taskStatsService;
     }
 
     @Transactional(readOnly = true)
-    public List<ProjectResponseDTO> getAllProjects() {
-        User currentUser = userService.getCurrentUser();
-        List<Project> projects = projectRepository.findByUser(currentUser);
-        return projects.stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public CursorPage<ProjectResponseDTO> getAllProjects(String cursor, Integer limit) {
+        Long currentUserId = userService.getCurrentUserId();
+        int pageSize = CursorPage.clampLimit(limit);
+        List<ProjectResponseDTO> projects = projectRepository.findSummaryPageByUserId(
+                currentUserId, CursorPage.decodeCursor(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(projects, pageSize, ProjectResponseDTO::getId);
+    }
+
+    /**
+     * {@code [id, version]} of every project on the given page, plus the row that signals a next page.
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getProjectPageVersions(String cursor, Integer limit) {
+        Long currentUserId = userService.getCurrentUserId();
+        int pageSize = CursorPage.clampLimit(limit);
+        return projectRepository.findVersionPageByUserId(
+                currentUserId, CursorPage.decodeCursor(cursor), Limit.of(pageSize + 1));
     }
 
     @Transactional
     public ProjectResponseDTO createProject(CreateProjectRequest request) {
-        User currentUser = userService.getCurrentUser();
-
         Project project = new Project();
         project.setTitle(request.getTitle());
         project.setDescription(request.getDescription());
-        project.setUser(currentUser);
+        project.setUser(userService.getCurrentUserReference());
 
-        Project savedProject = projectRepository.save(project);
-        return mapToDTO(savedProject);
+        // Flush so the insert runs now: with sequence ids it is otherwise deferred to commit,
+        // and createdAt is only generated when the row is inserted
+        Project savedProject = projectRepository.saveAndFlush(project);
+        eventPublisher.publishEvent(ProjectChangedEvent.of(ProjectChangedEvent.Type.CREATED, savedProject));
+        return new ProjectResponseDTO(
+                savedProject.getId(),
+                savedProject.getTitle(),
+                savedProject.getDescription(),
+                savedProject.getCreatedAt(),
+                0,
+                0
+        );
     }
 
     @Transactional(readOnly = true)
     public ProjectResponseDTO getProjectById(Long id) {
-        User currentUser = userService.getCurrentUser();
-        Project project = projectRepository.findById(id)
-                .filter(p -> p.getUser().getId().equals(currentUser.getId()))
-                .orElseThrow(() -> new RuntimeException("Project not found or access denied"));
-        return mapToDTO(project);
+        Long currentUserId = userService.getCurrentUserId();
+        return projectRepository.findSummaryByIdAndUserId(id, currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found or access denied"));
+    }
+
+    /**
+     * Revalidating costs one indexed single-column query and never loads the project.
+     */
+    @Transactional(readOnly = true)
+    public long getProjectVersion(Long id) {
+        return projectRepository.findVersionByIdAndUserId(id, userService.getCurrentUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found or access denied"));
     }
 
     @Transactional
     public ProjectResponseDTO updateProject(Long id, UpdateProjectRequest request) {
-        User currentUser = userService.getCurrentUser();
-        Project project = projectRepository.findById(id)
-                .filter(p -> p.getUser().getId().equals(currentUser.getId()))
-                .orElseThrow(() -> new RuntimeException("Project not found or access denied"));
+        Long currentUserId = userService.getCurrentUserId();
+        Project project = projectRepository.findForUpdateByIdAndUserId(id, currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found or access denied"));
 
         project.setTitle(request.getTitle());
         project.setDescription(request.getDescription());
+        eventPublisher.publishEvent(ProjectChangedEvent.of(ProjectChangedEvent.Type.UPDATED, project));
 
-        Project updatedProject = projectRepository.save(project);
-        return mapToDTO(updatedProject);
+        // The summary query auto-flushes the pending update and reads the counts in the database
+        return projectRepository.findSummaryByIdAndUserId(id, currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found or access denied"));
     }
 
     @Transactional
     public void deleteProject(Long id) {
-        User currentUser = userService.getCurrentUser();
-        Project project = projectRepository.findById(id)
-                .filter(p -> p.getUser().getId().equals(currentUser.getId()))
-                .orElseThrow(() -> new RuntimeException("Project not found or access denied"));
+        Long currentUserId = userService.getCurrentUserId();
+        Project project = projectRepository.findForUpdateByIdAndUserId(id, currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found or access denied"));
 
+        taskStatsService.projectDeleted(project.getId());
         projectRepository.delete(project);
-    }
-
-    private ProjectResponseDTO mapToDTO(Project project) {
-        int taskCount = project.getTasks() != null ? project.getTasks().size() : 0;
-        int completedTaskCount = project.getTasks() != null
-                ? (int) project.getTasks().stream()
-                    .filter(task -> Boolean.TRUE.equals(task.getCompleted()))
-                    .count()
-                : 0;
-
-        return new ProjectResponseDTO(
-                project.getId(),
-                project.getTitle(),
-                project.getDescription(),
-                project.getCreatedAt(),
-                taskCount,
-                completedTaskCount
-        );
+        eventPublisher.publishEvent(ProjectChangedEvent.of(ProjectChangedEvent.Type.DELETED, project));
     }
 }
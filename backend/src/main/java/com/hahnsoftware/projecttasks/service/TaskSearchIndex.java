@@ -0,0 +1,335 @@
+package com.hahnsoftware.projecttasks.service;
+
+import com.hahnsoftware.projecttasks.dto.TaskSearchDocument;
+import com.hahnsoftware.projecttasks.dto.TaskSearchHit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over task titles and descriptions, partitioned by owning user so a
+ * query only ever touches the caller's own postings. Results are ranked with BM25.
+ * Partitions are guarded by their own read/write lock; callers serialize writes themselves.
+ */
+class TaskSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Title terms count twice so a match in the title outranks the same match in the description
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MAX_TERM_LENGTH = 64;
+
+    private volatile Map<Long, Partition> partitions = new ConcurrentHashMap<>();
+
+    Partition partition(Long userId) {
+        return partitions.computeIfAbsent(userId, id -> new Partition());
+    }
+
+    void replace(Long userId, Partition partition) {
+        partitions.put(userId, partition);
+    }
+
+    void replaceAll(Map<Long, Partition> fresh) {
+        partitions = new ConcurrentHashMap<>(fresh);
+    }
+
+    long documentCount() {
+        long count = 0;
+        for (Partition partition : partitions.values()) {
+            count += partition.size();
+        }
+        return count;
+    }
+
+    Result search(Long userId, String query, int offset, int limit) {
+        Partition partition = partitions.get(userId);
+        if (partition == null) {
+            return Result.EMPTY;
+        }
+        return partition.search(tokenize(query, 1).keySet(), offset, limit);
+    }
+
+    /**
+     * Lower-cased runs of letters and digits with their (weighted) frequencies.
+     */
+    static Map<String, Integer> tokenize(String text, int weight) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        addTerms(terms, text, weight);
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String term = text.substring(start, Math.min(i, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT);
+                terms.merge(term, weight, Integer::sum);
+                start = -1;
+            }
+        }
+    }
+
+    record Result(long total, List<TaskSearchHit> hits) {
+        static final Result EMPTY = new Result(0, Collections.emptyList());
+    }
+
+    /**
+     * One user's index. Documents live in slots that are never reused until compaction, so a
+     * deleted document is just an empty slot that postings skip over.
+     */
+    static final class Partition {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final Map<Long, Integer> slotByTaskId = new HashMap<>();
+        private Document[] slots = new Document[16];
+        private int used;
+        private int live;
+        private long totalLength;
+
+        void upsert(TaskSearchDocument source) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(source.getTaskId());
+                Map<String, Integer> terms = tokenize(source.getTitle(), TITLE_WEIGHT);
+                addTerms(terms, source.getDescription(), 1);
+                addLocked(source.getTaskId(), source.getProjectId(), source.getTitle(), terms);
+                compactIfSparse();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long taskId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(taskId);
+                compactIfSparse();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void removeProject(Long projectId) {
+            lock.writeLock().lock();
+            try {
+                for (int slot = 0; slot < used; slot++) {
+                    Document document = slots[slot];
+                    if (document != null && document.projectId == projectId) {
+                        removeLocked(document.taskId);
+                    }
+                }
+                compactIfSparse();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return live;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Result search(Iterable<String> queryTerms, int offset, int limit) {
+            lock.readLock().lock();
+            try {
+                if (live == 0) {
+                    return Result.EMPTY;
+                }
+
+                double averageLength = (double) totalLength / live;
+                float[] scores = new float[used];
+                int[] touched = new int[16];
+                int matched = 0;
+
+                for (String term : queryTerms) {
+                    Postings list = postings.get(term);
+                    if (list == null) {
+                        continue;
+                    }
+                    double idf = Math.log(1 + (live - list.documentFrequency + 0.5) / (list.documentFrequency + 0.5));
+                    for (int i = 0; i < list.size; i++) {
+                        int slot = list.slots[i];
+                        Document document = slots[slot];
+                        if (document == null) {
+                            continue;
+                        }
+                        int tf = list.frequencies[i];
+                        double norm = K1 * (1 - B + B * document.length / averageLength);
+                        if (scores[slot] == 0) {
+                            if (matched == touched.length) {
+                                touched = Arrays.copyOf(touched, matched * 2);
+                            }
+                            touched[matched++] = slot;
+                        }
+                        scores[slot] += (float) (idf * tf * (K1 + 1) / (tf + norm));
+                    }
+                }
+
+                if (offset >= matched) {
+                    return new Result(matched, Collections.emptyList());
+                }
+
+                // Min-heap of the best offset + limit slots; ties broken by task id for stable paging
+                int wanted = (int) Math.min((long) offset + limit, matched);
+                PriorityQueue<Integer> top = new PriorityQueue<>(wanted, (a, b) -> {
+                    int byScore = Float.compare(scores[a], scores[b]);
+                    return byScore != 0 ? byScore : Long.compare(slots[b].taskId, slots[a].taskId);
+                });
+                for (int i = 0; i < matched; i++) {
+                    top.add(touched[i]);
+                    if (top.size() > wanted) {
+                        top.poll();
+                    }
+                }
+
+                List<TaskSearchHit> ranked = new ArrayList<>(top.size());
+                while (!top.isEmpty()) {
+                    int slot = top.poll();
+                    Document document = slots[slot];
+                    ranked.add(new TaskSearchHit(document.taskId, document.projectId, document.title, scores[slot]));
+                }
+                Collections.reverse(ranked);
+                return new Result(matched, ranked.subList(offset, ranked.size()));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void addLocked(long taskId, long projectId, String title, Map<String, Integer> terms) {
+            if (used == slots.length) {
+                slots = Arrays.copyOf(slots, used * 2);
+            }
+            int slot = used++;
+
+            Postings[] documentPostings = new Postings[terms.size()];
+            int length = 0;
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : terms.entrySet()) {
+                Postings list = postings.computeIfAbsent(entry.getKey(), Postings::new);
+                list.add(slot, entry.getValue());
+                documentPostings[i++] = list;
+                length += entry.getValue();
+            }
+
+            slots[slot] = new Document(taskId, projectId, title, length, documentPostings);
+            slotByTaskId.put(taskId, slot);
+            live++;
+            totalLength += length;
+        }
+
+        private void removeLocked(Long taskId) {
+            Integer slot = slotByTaskId.remove(taskId);
+            if (slot == null) {
+                return;
+            }
+            Document document = slots[slot];
+            slots[slot] = null;
+            live--;
+            totalLength -= document.length;
+            for (Postings list : document.postings) {
+                if (--list.documentFrequency == 0) {
+                    postings.remove(list.term);
+                }
+            }
+        }
+
+        /**
+         * Rebuilds slots and postings once more than half of the slots are dead.
+         */
+        private void compactIfSparse() {
+            int dead = used - live;
+            if (dead < 1024 || dead < live) {
+                return;
+            }
+
+            Document[] previous = slots;
+            int previousUsed = used;
+            postings.clear();
+            slotByTaskId.clear();
+            slots = new Document[Math.max(16, live * 2)];
+            used = 0;
+            live = 0;
+            totalLength = 0;
+
+            for (int slot = 0; slot < previousUsed; slot++) {
+                Document document = previous[slot];
+                if (document == null) {
+                    continue;
+                }
+                Map<String, Integer> terms = new LinkedHashMap<>();
+                for (Postings list : document.postings) {
+                    terms.put(list.term, list.frequencyOf(slot));
+                }
+                addLocked(document.taskId, document.projectId, document.title, terms);
+            }
+        }
+    }
+
+    private static final class Document {
+        private final long taskId;
+        private final long projectId;
+        private final String title;
+        private final int length;
+        private final Postings[] postings;
+
+        private Document(long taskId, long projectId, String title, int length, Postings[] postings) {
+            this.taskId = taskId;
+            this.projectId = projectId;
+            this.title = title;
+            this.length = length;
+            this.postings = postings;
+        }
+    }
+
+    /**
+     * Slot ids and term frequencies in insertion (and therefore ascending slot) order.
+     * Entries for deleted slots stay until the partition is compacted.
+     */
+    private static final class Postings {
+        private final String term;
+        private int[] slots = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        private int documentFrequency;
+
+        private Postings(String term) {
+            this.term = term;
+        }
+
+        private void add(int slot, int frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size] = frequency;
+            size++;
+            documentFrequency++;
+        }
+
+        private int frequencyOf(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            return index >= 0 ? frequencies[index] : 0;
+        }
+    }
+}
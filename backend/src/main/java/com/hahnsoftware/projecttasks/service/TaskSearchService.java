@@ -0,0 +1,192 @@
+package com.hahnsoftware.projecttasks.service;
+
+import com.hahnsoftware.projecttasks.dto.TaskSearchDocument;
+import com.hahnsoftware.projecttasks.dto.TaskSearchResponse;
+import com.hahnsoftware.projecttasks.event.DataImportedEvent;
+import com.hahnsoftware.projecttasks.event.ProjectChangedEvent;
+import com.hahnsoftware.projecttasks.event.TaskChangedEvent;
+import com.hahnsoftware.projecttasks.exception.BadRequestException;
+import com.hahnsoftware.projecttasks.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the task search index in step with committed changes and answers search queries.
+ * The index is rebuilt from the database in the background at startup; changes committed while a
+ * rebuild is running are recorded and replayed onto the fresh index before it is swapped in.
+ */
+@Service
+public class TaskSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchService.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final TaskRepository taskRepository;
+    private final UserService userService;
+    private final TransactionTemplate readTransaction;
+    private final boolean rebuildOnStartup;
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+    private final Object writeLock = new Object();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Guarded by writeLock; non-null while a rebuild is running
+    private List<PendingChange> pending;
+
+    public TaskSearchService(TaskRepository taskRepository,
+                             UserService userService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${search.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.taskRepository = taskRepository;
+        this.userService = userService;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        // Listeners run after commit, when the original transaction's resources are still bound
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    public TaskSearchResponse search(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+
+        TaskSearchIndex.Result result = index.search(userService.getCurrentUserId(), query, offset, pageSize);
+        return new TaskSearchResponse(query, pageNumber, pageSize, result.total(), result.hits());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.Type.DELETED) {
+            apply(event.userId(), partition -> partition.remove(event.taskId()));
+            return;
+        }
+        TaskSearchDocument document = new TaskSearchDocument(
+                event.taskId(), event.projectId(), event.userId(), event.title(), event.description());
+        apply(event.userId(), partition -> partition.upsert(document));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.type() == ProjectChangedEvent.Type.DELETED) {
+            apply(event.userId(), partition -> partition.removeProject(event.projectId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataImported(DataImportedEvent event) {
+        rebuildUser(event.userId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                logger.error("Task search index rebuild failed", e);
+            }
+        }, "task-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reloads every user's partition from the database and swaps them in together.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<Long, TaskSearchIndex.Partition> fresh = new HashMap<>();
+        runRebuild(
+                taskRepository::streamSearchDocuments,
+                document -> fresh.computeIfAbsent(document.getUserId(), id -> new TaskSearchIndex.Partition())
+                        .upsert(document),
+                changes -> {
+                    for (PendingChange change : changes) {
+                        change.mutation().accept(fresh.computeIfAbsent(change.userId(),
+                                id -> new TaskSearchIndex.Partition()));
+                    }
+                    index.replaceAll(fresh);
+                });
+        logger.info("Task search index rebuilt: {} tasks for {} users in {} ms",
+                index.documentCount(), fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Reloads a single user's partition, e.g. after rows were written outside of JPA.
+     */
+    public void rebuildUser(Long userId) {
+        TaskSearchIndex.Partition fresh = new TaskSearchIndex.Partition();
+        runRebuild(
+                () -> taskRepository.streamSearchDocumentsByOwnerId(userId),
+                fresh::upsert,
+                changes -> {
+                    for (PendingChange change : changes) {
+                        if (change.userId().equals(userId)) {
+                            change.mutation().accept(fresh);
+                        }
+                    }
+                    index.replace(userId, fresh);
+                });
+    }
+
+    private void runRebuild(Supplier<Stream<TaskSearchDocument>> source,
+                            Consumer<TaskSearchDocument> loader,
+                            Consumer<List<PendingChange>> swap) {
+        rebuildLock.lock();
+        try {
+            synchronized (writeLock) {
+                pending = new ArrayList<>();
+            }
+            readTransaction.executeWithoutResult(status -> {
+                try (Stream<TaskSearchDocument> documents = source.get()) {
+                    documents.forEach(loader);
+                }
+            });
+            synchronized (writeLock) {
+                swap.accept(pending);
+            }
+        } finally {
+            synchronized (writeLock) {
+                pending = null;
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    private void apply(Long userId, Consumer<TaskSearchIndex.Partition> mutation) {
+        synchronized (writeLock) {
+            mutation.accept(index.partition(userId));
+            if (pending != null) {
+                pending.add(new PendingChange(userId, mutation));
+            }
+        }
+    }
+
+    private record PendingChange(Long userId, Consumer<TaskSearchIndex.Partition> mutation) {
+    }
+}
@@ -1,16 +1,36 @@
 package com.hahnsoftware.projecttasks.service;
 
+import com.hahnsoftware.projecttasks.dto.BatchTaskOperation;
+import com.hahnsoftware.projecttasks.dto.BatchTaskRequest;
+import com.hahnsoftware.projecttasks.dto.BatchTaskResponse;
+import com.hahnsoftware.projecttasks.dto.BatchTaskResult;
 import com.hahnsoftware.projecttasks.dto.CreateTaskRequest;
+import com.hahnsoftware.projecttasks.dto.CursorPage;
 import com.hahnsoftware.projecttasks.dto.UpdateTaskRequest;
+import com.hahnsoftware.projecttasks.event.TaskChangedEvent;
+import com.hahnsoftware.projecttasks.exception.ForbiddenException;
+import com.hahnsoftware.projecttasks.exception.ResourceNotFoundException;
 import com.hahnsoftware.projecttasks.model.Project;
 import com.hahnsoftware.projecttasks.model.Task;
-import com.hahnsoftware.projecttasks.model.User;
 import com.hahnsoftware.projecttasks.repository.ProjectRepository;
 import com.hahnsoftware.projecttasks.repository.TaskRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
@@ -18,86 +38,300 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final UserService userService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatsService taskStatsService;
 
     public TaskService(TaskRepository taskRepository,
                        ProjectRepository projectRepository,
-                       UserService userService) {
+                       UserService userService,
+                       Validator validator,
+                       ApplicationEventPublisher eventPublisher,
+                       TaskStatsService taskStatsService) {
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
         this.userService = userService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.taskStatsService = taskStatsService;
     }
 
     @Transactional(readOnly = true)
-    public List<Task> getAllTasks(Long projectId) {
-        Project project = verifyProjectAccess(projectId);
-        return taskRepository.findByProject(project);
+    public CursorPage<Task> getAllTasks(Long projectId, String cursor, Integer limit) {
+        verifyProjectAccess(projectId);
+        int pageSize = CursorPage.clampLimit(limit);
+        List<Task> tasks = taskRepository.findByProjectIdAndIdGreaterThanOrderByIdAsc(
+                projectId, CursorPage.decodeCursor(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(tasks, pageSize, Task::getId);
+    }
+
+    /**
+     * The project version, which moves on every change to the project's tasks.
+     */
+    @Transactional(readOnly = true)
+    public long getTaskListVersion(Long projectId) {
+        return projectRepository.findVersionByIdAndUserId(projectId, userService.getCurrentUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found or access denied"));
     }
 
     @Transactional
     public Task createTask(Long projectId, CreateTaskRequest request) {
-        Project project = verifyProjectAccess(projectId);
+        Project project = lockProjectForTaskChange(projectId);
 
         Task task = new Task();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         task.setCompleted(false);
+        task.setCreatedAt(LocalDateTime.now());
         task.setProject(project);
 
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        taskStatsService.created(savedTask);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.CREATED, savedTask));
+        return savedTask;
     }
 
     @Transactional(readOnly = true)
     public Task getTaskById(Long projectId, Long taskId) {
-        verifyProjectAccess(projectId);
+        return findAccessibleTask(projectId, taskId);
+    }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+    @Transactional
+    public Task updateTask(Long projectId, Long taskId, UpdateTaskRequest request) {
+        Task task = lockAccessibleTask(projectId, taskId);
 
-        if (!task.getProject().getId().equals(projectId)) {
-            throw new RuntimeException("Task not found in this project");
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        if (request.getCompleted() != null) {
+            setCompleted(task, request.getCompleted());
         }
 
-        return task;
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.UPDATED, savedTask));
+        return savedTask;
     }
 
     @Transactional
-    public Task updateTask(Long projectId, Long taskId, UpdateTaskRequest request) {
-        verifyProjectAccess(projectId);
+    public void deleteTask(Long projectId, Long taskId) {
+        Task task = lockAccessibleTask(projectId, taskId);
+
+        taskStatsService.deleted(task);
+        taskRepository.delete(task);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.DELETED, task));
+    }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+    /**
+     * Applies a batch of task operations in one transaction. Invalid or unknown items are reported
+     * per index and skipped; the rest are flushed together so inserts, updates and deletes go out as
+     * JDBC batches.
+     */
+    @Transactional
+    public BatchTaskResponse applyBatch(Long projectId, BatchTaskRequest request) {
+        Project project = lockProjectForTaskChange(projectId);
+        List<BatchTaskOperation> operations = request.getOperations();
 
-        if (!task.getProject().getId().equals(projectId)) {
-            throw new RuntimeException("Task not found in this project");
+        Set<Long> targetIds = new HashSet<>();
+        for (BatchTaskOperation operation : operations) {
+            if (operation.getOp() != BatchTaskOperation.Type.CREATE && operation.getId() != null) {
+                targetIds.add(operation.getId());
+            }
+        }
+        Map<Long, Task> existing = new HashMap<>();
+        if (!targetIds.isEmpty()) {
+            for (Task task : taskRepository.findByProjectIdAndIdIn(projectId, targetIds)) {
+                existing.put(task.getId(), task);
+            }
         }
 
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        if (request.getCompleted() != null) {
-            task.setCompleted(request.getCompleted());
+        List<BatchTaskResult> results = new ArrayList<>(operations.size());
+        List<Task> created = new ArrayList<>();
+        Map<Integer, Task> createdByIndex = new HashMap<>();
+        Set<Task> updated = new LinkedHashSet<>();
+        List<Task> deleted = new ArrayList<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchTaskOperation operation = operations.get(i);
+            BatchTaskOperation.Type type = operation.getOp();
+
+            String violation = validate(operation);
+            if (violation != null) {
+                results.add(new BatchTaskResult(i, type, operation.getId(), BatchTaskResult.Status.INVALID, violation));
+                continue;
+            }
+
+            if (type == BatchTaskOperation.Type.CREATE) {
+                Task task = new Task();
+                task.setTitle(operation.getTitle());
+                task.setDescription(operation.getDescription());
+                task.setCreatedAt(LocalDateTime.now());
+                setCompleted(task, Boolean.TRUE.equals(operation.getCompleted()));
+                task.setProject(project);
+                created.add(task);
+                createdByIndex.put(i, task);
+                results.add(new BatchTaskResult(i, type, null, BatchTaskResult.Status.OK, null));
+                continue;
+            }
+
+            Task task = existing.get(operation.getId());
+            if (task == null) {
+                results.add(new BatchTaskResult(i, type, operation.getId(), BatchTaskResult.Status.NOT_FOUND,
+                        "Task not found in this project"));
+                continue;
+            }
+
+            switch (type) {
+                case UPDATE -> {
+                    task.setTitle(operation.getTitle());
+                    task.setDescription(operation.getDescription());
+                    if (operation.getCompleted() != null) {
+                        setCompleted(task, operation.getCompleted());
+                    }
+                    updated.add(task);
+                }
+                case COMPLETE -> {
+                    setCompleted(task, operation.getCompleted() == null || operation.getCompleted());
+                    updated.add(task);
+                }
+                case DELETE -> {
+                    existing.remove(task.getId());
+                    updated.remove(task);
+                    taskStatsService.deleted(task);
+                    deleted.add(task);
+                }
+                default -> throw new IllegalStateException("Unexpected operation " + type);
+            }
+            results.add(new BatchTaskResult(i, type, task.getId(), BatchTaskResult.Status.OK, null));
         }
 
-        return taskRepository.save(task);
+        created.forEach(taskStatsService::created);
+        taskRepository.saveAll(created);
+        taskRepository.deleteAll(deleted);
+        taskRepository.flush();
+
+        createdByIndex.forEach((index, task) -> results.get(index).setId(task.getId()));
+        created.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.CREATED, task)));
+        updated.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.UPDATED, task)));
+        deleted.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.DELETED, task)));
+
+        int succeeded = (int) results.stream()
+                .filter(result -> result.getStatus() == BatchTaskResult.Status.OK)
+                .count();
+        return new BatchTaskResponse(succeeded, results.size() - succeeded, results);
     }
 
-    @Transactional
-    public void deleteTask(Long projectId, Long taskId) {
-        verifyProjectAccess(projectId);
+    /**
+     * Flips the completion flag, keeping completedAt and the daily rollups in step. New tasks are
+     * counted as a whole once saved.
+     */
+    private void setCompleted(Task task, boolean completed) {
+        if (task.getCompleted() != null && task.getCompleted() == completed) {
+            return;
+        }
+        if (completed) {
+            task.setCompletedAt(LocalDateTime.now());
+            if (task.getId() != null) {
+                taskStatsService.completed(task);
+            }
+        } else {
+            if (task.getId() != null) {
+                taskStatsService.reopened(task);
+            }
+            task.setCompletedAt(null);
+        }
+        task.setCompleted(completed);
+    }
+
+    /**
+     * Applies the same bean validation rules as the single-task endpoints to one batch item.
+     */
+    private String validate(BatchTaskOperation operation) {
+        Set<? extends ConstraintViolation<?>> violations;
+        switch (operation.getOp()) {
+            case CREATE -> {
+                CreateTaskRequest create = new CreateTaskRequest();
+                create.setTitle(operation.getTitle());
+                create.setDescription(operation.getDescription());
+                violations = validator.validate(create);
+            }
+            case UPDATE -> {
+                if (operation.getId() == null) {
+                    return "Task id is required";
+                }
+                UpdateTaskRequest update = new UpdateTaskRequest();
+                update.setTitle(operation.getTitle());
+                update.setDescription(operation.getDescription());
+                update.setCompleted(operation.getCompleted());
+                violations = validator.validate(update);
+            }
+            default -> {
+                return operation.getId() == null ? "Task id is required" : null;
+            }
+        }
+
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+    /**
+     * Loads the task together with its project in a single statement, then decides 404 vs 403
+     * from the already-loaded owner id (the user association is never initialized).
+     */
+    private Task findAccessibleTask(Long projectId, Long taskId) {
+        Long currentUserId = userService.getCurrentUserId();
+        Task task = taskRepository.findWithProjectByIdAndProjectId(taskId, projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found in this project"));
 
-        if (!task.getProject().getId().equals(projectId)) {
-            throw new RuntimeException("Task not found in this project");
+        if (!task.getProject().getUser().getId().equals(currentUserId)) {
+            throw new ForbiddenException("Access denied to this task");
         }
+        return task;
+    }
 
-        taskRepository.delete(task);
+    /**
+     * Ownership check against the (second-level cached) project; the owner id is read from the
+     * user association without initializing it. Ownership never changes, so a cached entry is
+     * good enough here, unlike for versions.
+     */
+    private void verifyProjectAccess(Long projectId) {
+        Long currentUserId = userService.getCurrentUserId();
+        projectRepository.findById(projectId)
+                .filter(project -> project.getUser().getId().equals(currentUserId))
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found or access denied"));
+    }
+
+    /**
+     * Locks and touches the project before its tasks change. Every writer locks the project row
+     * before task rows, so concurrent task changes and project deletes cannot deadlock. The lock is
+     * scoped to the caller's projects, so nobody can lock or bump someone else's.
+     */
+    private Project lockProjectForTaskChange(Long projectId) {
+        Project project = projectRepository.findForUpdateByIdAndUserId(projectId, userService.getCurrentUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found or access denied"));
+        touch(project);
+        return project;
+    }
+
+    /**
+     * As {@link #findAccessibleTask}, for a change to the task: the caller's project is locked and
+     * touched first. For anyone else's project the lock matches nothing, so the lookup only decides
+     * between 404 and 403. The task query finds the project already loaded and reuses that instance.
+     */
+    private Task lockAccessibleTask(Long projectId, Long taskId) {
+        Optional<Project> owned = projectRepository.findForUpdateByIdAndUserId(projectId, userService.getCurrentUserId());
+        Task task = findAccessibleTask(projectId, taskId);
+        owned.ifPresent(this::touch);
+        return task;
     }
 
-    private Project verifyProjectAccess(Long projectId) {
-        User currentUser = userService.getCurrentUser();
-        return projectRepository.findById(projectId)
-                .filter(p -> p.getUser().getId().equals(currentUser.getId()))
-                .orElseThrow(() -> new RuntimeException("Project not found or access denied"));
+    /**
+     * A plain dirty update, so Hibernate bumps the version and refreshes the cached project on commit.
+     */
+    private void touch(Project project) {
+        project.setUpdatedAt(LocalDateTime.now());
     }
 }
@@ -0,0 +1,296 @@
+package com.hahnsoftware.projecttasks.service;
+
+import com.hahnsoftware.projecttasks.dto.DailyStatsDTO;
+import com.hahnsoftware.projecttasks.exception.BadRequestException;
+import com.hahnsoftware.projecttasks.exception.ResourceNotFoundException;
+import com.hahnsoftware.projecttasks.model.Task;
+import com.hahnsoftware.projecttasks.repository.DailyStatsRepository;
+import com.hahnsoftware.projecttasks.repository.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the daily task rollups ({@code project_daily_stats} and {@code user_daily_stats}) and
+ * answers dashboard queries from them alone. The rollups count the tasks that currently exist by
+ * the day they were created and the day they were completed, so reopening or deleting a task takes
+ * it back out of the bucket it was counted in.
+ *
+ * <p>Changes are summed per bucket for the duration of the transaction and applied as upserts just
+ * before it commits, so a batch of hundreds of tasks costs one statement per touched day.
+ */
+@Service
+public class TaskStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatsService.class);
+
+    static final int DEFAULT_DAYS = 30;
+    static final int MAX_DAYS = 366;
+
+    private static final String UPSERT_PROJECT_DAY = "INSERT INTO project_daily_stats "
+            + "(project_id, day, user_id, created, completed) VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT (project_id, day) DO UPDATE SET "
+            + "created = project_daily_stats.created + EXCLUDED.created, "
+            + "completed = project_daily_stats.completed + EXCLUDED.completed";
+    private static final String UPSERT_USER_DAY = "INSERT INTO user_daily_stats "
+            + "(user_id, day, created, completed) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT (user_id, day) DO UPDATE SET "
+            + "created = user_daily_stats.created + EXCLUDED.created, "
+            + "completed = user_daily_stats.completed + EXCLUDED.completed";
+
+    private static final String SUBTRACT_PROJECT_FROM_USER = "UPDATE user_daily_stats u SET "
+            + "created = u.created - p.created, completed = u.completed - p.completed "
+            + "FROM project_daily_stats p WHERE p.project_id = ? AND u.user_id = p.user_id AND u.day = p.day";
+
+    // Blocks incremental upserts (they wait at commit) so no change is lost or counted twice
+    private static final String LOCK_ROLLUPS =
+            "LOCK TABLE project_daily_stats, user_daily_stats IN EXCLUSIVE MODE";
+    private static final String REBUILD_PROJECT_DAYS = "INSERT INTO project_daily_stats "
+            + "(project_id, day, user_id, created, completed) "
+            + "SELECT project_id, day, user_id, SUM(created), SUM(completed) FROM ("
+            + "SELECT t.project_id, CAST(t.created_at AS date) AS day, p.user_id, 1 AS created, 0 AS completed "
+            + "FROM tasks t JOIN projects p ON p.id = t.project_id WHERE t.created_at IS NOT NULL "
+            + "UNION ALL "
+            + "SELECT t.project_id, CAST(t.completed_at AS date), p.user_id, 0, 1 "
+            + "FROM tasks t JOIN projects p ON p.id = t.project_id "
+            + "WHERE t.completed AND t.completed_at IS NOT NULL"
+            + ") buckets GROUP BY project_id, day, user_id";
+    private static final String REBUILD_USER_DAYS = "INSERT INTO user_daily_stats "
+            + "(user_id, day, created, completed) "
+            + "SELECT user_id, day, SUM(created), SUM(completed) FROM project_daily_stats "
+            + "GROUP BY user_id, day";
+
+    private final DailyStatsRepository dailyStatsRepository;
+    private final ProjectRepository projectRepository;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate rebuildTransaction;
+
+    public TaskStatsService(DailyStatsRepository dailyStatsRepository,
+                            ProjectRepository projectRepository,
+                            UserService userService,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.dailyStatsRepository = dailyStatsRepository;
+        this.projectRepository = projectRepository;
+        this.userService = userService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyStatsDTO> getProjectStats(Long projectId, LocalDate from, LocalDate to) {
+        Long currentUserId = userService.getCurrentUserId();
+        projectRepository.findById(projectId)
+                .filter(project -> project.getUser().getId().equals(currentUserId))
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found or access denied"));
+
+        LocalDate[] range = range(from, to);
+        return series(range[0], range[1],
+                dailyStatsRepository.sumProjectBefore(projectId, range[0]).get(0),
+                dailyStatsRepository.findProjectDays(projectId, range[0], range[1]));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyStatsDTO> getUserStats(LocalDate from, LocalDate to) {
+        Long currentUserId = userService.getCurrentUserId();
+        LocalDate[] range = range(from, to);
+        return series(range[0], range[1],
+                dailyStatsRepository.sumUserBefore(currentUserId, range[0]).get(0),
+                dailyStatsRepository.findUserDays(currentUserId, range[0], range[1]));
+    }
+
+    /**
+     * Counts a newly saved task, including its completion when it was created completed.
+     */
+    public void created(Task task) {
+        add(task, task.getCreatedAt(), 1, 0);
+        if (Boolean.TRUE.equals(task.getCompleted())) {
+            add(task, task.getCompletedAt(), 0, 1);
+        }
+    }
+
+    /**
+     * Call after completedAt has been set.
+     */
+    public void completed(Task task) {
+        add(task, task.getCompletedAt(), 0, 1);
+    }
+
+    /**
+     * Call before completedAt is cleared.
+     */
+    public void reopened(Task task) {
+        add(task, task.getCompletedAt(), 0, -1);
+    }
+
+    public void deleted(Task task) {
+        add(task, task.getCreatedAt(), -1, 0);
+        if (Boolean.TRUE.equals(task.getCompleted())) {
+            add(task, task.getCompletedAt(), 0, -1);
+        }
+    }
+
+    /**
+     * Counts tasks written without going through JPA, e.g. by an import.
+     */
+    public void added(Long projectId, Long userId, LocalDate day, long created, long completed) {
+        Bucket bucket = new Bucket(projectId, userId, day);
+        long[] delta = pendingDeltas().computeIfAbsent(bucket, key -> new long[2]);
+        delta[0] += created;
+        delta[1] += completed;
+    }
+
+    /**
+     * Takes a deleted project's buckets out of its owner's totals. Runs in the deleting transaction.
+     */
+    public void projectDeleted(Long projectId) {
+        jdbcTemplate.update(SUBTRACT_PROJECT_FROM_USER, projectId);
+        jdbcTemplate.update("DELETE FROM project_daily_stats WHERE project_id = ?", projectId);
+    }
+
+    /**
+     * Recomputes every rollup from the tasks table, e.g. after a manual data fix. Controlled by
+     * {@code analytics.rebuild-cron}.
+     */
+    @Scheduled(cron = "${analytics.rebuild-cron:-}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        rebuildTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute(LOCK_ROLLUPS);
+            jdbcTemplate.update("DELETE FROM user_daily_stats");
+            jdbcTemplate.update("DELETE FROM project_daily_stats");
+            jdbcTemplate.update(REBUILD_PROJECT_DAYS);
+            jdbcTemplate.update(REBUILD_USER_DAYS);
+        });
+        logger.info("Task rollups rebuilt in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private void add(Task task, LocalDateTime at, long created, long completed) {
+        // Tasks from before the timestamps were recorded are not in any bucket
+        if (at == null) {
+            return;
+        }
+        added(task.getProject().getId(), task.getProject().getUser().getId(), at.toLocalDate(), created, completed);
+    }
+
+    /**
+     * The deltas of the current transaction, written by a synchronization registered on first use.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Bucket, long[]> pendingDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Task statistics can only be recorded inside a transaction");
+        }
+        Map<Bucket, long[]> deltas = (Map<Bucket, long[]>) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            Map<Bucket, long[]> fresh = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, fresh);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(fresh);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskStatsService.this);
+                }
+            });
+            deltas = fresh;
+        }
+        return deltas;
+    }
+
+    /**
+     * Upserts in key order, so concurrent transactions touching the same buckets cannot deadlock.
+     */
+    private void write(Map<Bucket, long[]> deltas) {
+        Map<Bucket, long[]> projectDays = new TreeMap<>(Bucket.PROJECT_ORDER);
+        Map<Bucket, long[]> userDays = new TreeMap<>(Bucket.USER_ORDER);
+        deltas.forEach((bucket, delta) -> {
+            if (delta[0] == 0 && delta[1] == 0) {
+                return;
+            }
+            projectDays.put(bucket, delta);
+            long[] userDelta = userDays.computeIfAbsent(new Bucket(null, bucket.userId(), bucket.day()),
+                    key -> new long[2]);
+            userDelta[0] += delta[0];
+            userDelta[1] += delta[1];
+        });
+        if (projectDays.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> projectRows = new ArrayList<>(projectDays.size());
+        projectDays.forEach((bucket, delta) -> projectRows.add(new Object[]{
+                bucket.projectId(), Date.valueOf(bucket.day()), bucket.userId(), delta[0], delta[1]}));
+        List<Object[]> userRows = new ArrayList<>(userDays.size());
+        userDays.forEach((bucket, delta) -> userRows.add(new Object[]{
+                bucket.userId(), Date.valueOf(bucket.day()), delta[0], delta[1]}));
+
+        jdbcTemplate.batchUpdate(UPSERT_PROJECT_DAY, projectRows);
+        jdbcTemplate.batchUpdate(UPSERT_USER_DAY, userRows);
+    }
+
+    private static LocalDate[] range(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_DAYS) {
+            throw new BadRequestException("Date range must not exceed " + MAX_DAYS + " days");
+        }
+        return new LocalDate[]{start, end};
+    }
+
+    /**
+     * One entry per day of the range, days without a rollup row counting as zero.
+     */
+    private static List<DailyStatsDTO> series(LocalDate from, LocalDate to, Object[] before, List<Object[]> rows) {
+        long totalCreated = ((Number) before[0]).longValue();
+        long totalCompleted = ((Number) before[1]).longValue();
+        Map<LocalDate, Object[]> byDay = new HashMap<>();
+        for (Object[] row : rows) {
+            byDay.put((LocalDate) row[0], row);
+        }
+
+        List<DailyStatsDTO> series = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            Object[] row = byDay.get(day);
+            long created = row != null ? ((Number) row[1]).longValue() : 0;
+            long completed = row != null ? ((Number) row[2]).longValue() : 0;
+            totalCreated += created;
+            totalCompleted += completed;
+            double rate = totalCreated > 0 ? (double) totalCompleted / totalCreated : 0;
+            series.add(new DailyStatsDTO(day, created, completed, totalCreated, totalCompleted, rate));
+        }
+        return series;
+    }
+
+    private record Bucket(Long projectId, Long userId, LocalDate day) {
+        static final Comparator<Bucket> PROJECT_ORDER =
+                Comparator.comparing(Bucket::projectId).thenComparing(Bucket::day);
+        static final Comparator<Bucket> USER_ORDER =
+                Comparator.comparing(Bucket::userId).thenComparing(Bucket::day);
+    }
+}
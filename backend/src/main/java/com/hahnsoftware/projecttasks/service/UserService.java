@@ -1,9 +1,9 @@
 package com.hahnsoftware.projecttasks.service;
 
+import com.hahnsoftware.projecttasks.exception.UnauthorizedException;
 import com.hahnsoftware.projecttasks.model.User;
 import com.hahnsoftware.projecttasks.repository.UserRepository;
 import com.hahnsoftware.projecttasks.security.UserDetailsImpl;
-import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -17,15 +17,24 @@ public class UserService {
         this.userRepository = userRepository;
     }
 
-    public User getCurrentUser() {
+    /**
+     * Id of the authenticated user, taken from the security context without touching the database.
+     */
+    public Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new AccessDeniedException("User not authenticated");
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UserDetailsImpl userDetails)) {
+            throw new UnauthorizedException("User not authenticated");
         }
 
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new AccessDeniedException("User not found"));
+        return userDetails.getId();
+    }
+
+    /**
+     * Uninitialized reference to the authenticated user, for use as an association target only.
+     */
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
     }
 }
\ No newline at end of file
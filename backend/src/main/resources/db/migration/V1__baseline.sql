@@ -0,0 +1,38 @@
+-- Schema as Hibernate created it (ddl-auto=update) before migrations took over. Databases that
+-- already have these tables are baselined at this version and skip it; the later migrations bring
+-- them, and new databases, up to date. Those written for changes that ddl-auto=update applied
+-- before migrations existed check for what is already there.
+
+CREATE TABLE users (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    email varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE projects (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    created_at timestamp(6) NOT NULL,
+    description varchar(255),
+    title varchar(255) NOT NULL,
+    user_id bigint NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tasks (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    completed boolean NOT NULL,
+    description varchar(255),
+    title varchar(255) NOT NULL,
+    project_id bigint NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE users
+    ADD CONSTRAINT uk6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+
+ALTER TABLE projects
+    ADD CONSTRAINT fkhswfwa3ga88vxv1pmboss6jhm FOREIGN KEY (user_id) REFERENCES users;
+
+ALTER TABLE tasks
+    ADD CONSTRAINT fksfhn82y57i3k9uxww1s007acc FOREIGN KEY (project_id) REFERENCES projects;
@@ -0,0 +1,12 @@
+-- Tasks and projects take their ids from pooled sequences (allocation size 50) instead of IDENTITY
+-- columns, so batched inserts need no round trip per row. Start the sequences past MAX(id);
+-- GREATEST never moves a sequence that ddl-auto=update already created backwards.
+CREATE SEQUENCE IF NOT EXISTS projects_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('projects_seq', GREATEST((SELECT last_value FROM projects_seq), (SELECT COALESCE(MAX(id), 0) + 1 FROM projects)));
+SELECT setval('tasks_seq', GREATEST((SELECT last_value FROM tasks_seq), (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks)));
+
+-- Hibernate now supplies every id, so nothing may fall back to the old identity values
+ALTER TABLE projects ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
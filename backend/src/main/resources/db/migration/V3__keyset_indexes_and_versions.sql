@@ -0,0 +1,8 @@
+-- Keyset pages of a user's projects and of a project's tasks; each also covers the foreign key
+CREATE INDEX IF NOT EXISTS idx_projects_user_id_id ON projects (user_id, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_id_id ON tasks (project_id, id);
+
+-- Optimistic locking and ETags: projects are versioned together with their task lists
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS updated_at timestamp(6);
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS activity_log (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    occurred_at timestamp(6) NOT NULL,
+    project_id bigint NOT NULL,
+    task_id bigint,
+    user_id bigint NOT NULL,
+    action varchar(32) NOT NULL,
+    title varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_activity_log_project_id_id ON activity_log (project_id, id);
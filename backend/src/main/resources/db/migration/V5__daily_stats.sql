@@ -0,0 +1,22 @@
+-- Daily created/completed rollups per project and per user, kept up to date as tasks change
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS created_at timestamp(6);
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS completed_at timestamp(6);
+
+CREATE TABLE IF NOT EXISTS project_daily_stats (
+    day date NOT NULL,
+    completed bigint NOT NULL,
+    created bigint NOT NULL,
+    project_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    PRIMARY KEY (day, project_id)
+);
+
+CREATE TABLE IF NOT EXISTS user_daily_stats (
+    day date NOT NULL,
+    completed bigint NOT NULL,
+    created bigint NOT NULL,
+    user_id bigint NOT NULL,
+    PRIMARY KEY (day, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_project_daily_stats_user_id ON project_daily_stats (user_id);
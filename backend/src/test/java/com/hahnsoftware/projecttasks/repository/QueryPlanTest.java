@@ -0,0 +1,252 @@
+package com.hahnsoftware.projecttasks.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahnsoftware.projecttasks.model.Project;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Applies the migrations to an embedded PostgreSQL (which also validates the entities against
+ * them), runs the hot repository queries and EXPLAINs every statement they send. Sequential scans
+ * and hash/merge joins are disabled, so the planner only falls back to a sequential scan, or to an
+ * index scan without a condition, when no index fits the query.
+ */
+@SpringBootTest(properties = {
+        "jwt.secret=query-plan-test-secret-query-plan-test-secret",
+        "spring.jpa.show-sql=false",
+        "search.rebuild-on-startup=false",
+        "spring.jmx.enabled=false"
+})
+class QueryPlanTest {
+
+    private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ActivityRepository activityRepository;
+    @Autowired
+    private DailyStatsRepository dailyStatsRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void userQueriesUseIndexes() throws Exception {
+        assertIndexed(() -> {
+            userRepository.findByEmail("someone@example.com");
+            userRepository.existsByEmail("someone@example.com");
+        });
+    }
+
+    @Test
+    void projectQueriesUseIndexes() throws Exception {
+        assertIndexed(() -> {
+            projectRepository.existsByIdAndUserId(1L, 1L);
+            projectRepository.findForUpdateById(1L);
+            projectRepository.findForUpdateByIdAndUserId(1L, 1L);
+            projectRepository.findVersionByIdAndUserId(1L, 1L);
+            projectRepository.findVersionPageByUserId(1L, 0L, Limit.of(20));
+            projectRepository.findSummaryPageByUserId(1L, 0L, Limit.of(20));
+            projectRepository.findSummaryByIdAndUserId(1L, 1L);
+            try (Stream<Project> projects = projectRepository.streamByUserId(1L)) {
+                projects.forEach(project -> { });
+            }
+        });
+    }
+
+    @Test
+    void taskQueriesUseIndexes() throws Exception {
+        assertIndexed(() -> {
+            taskRepository.findByProjectIdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.of(50));
+            taskRepository.findByProjectIdAndIdIn(1L, List.of(1L, 2L, 3L));
+            taskRepository.findWithProjectByIdAndProjectId(1L, 1L);
+            try (Stream<?> tasks = taskRepository.streamByOwnerId(1L)) {
+                tasks.forEach(task -> { });
+            }
+            try (Stream<?> documents = taskRepository.streamSearchDocumentsByOwnerId(1L)) {
+                documents.forEach(document -> { });
+            }
+        });
+    }
+
+    @Test
+    void activityAndStatsQueriesUseIndexes() throws Exception {
+        LocalDate today = LocalDate.now();
+        assertIndexed(() -> {
+            activityRepository.findByProjectIdAndIdLessThanOrderByIdDesc(1L, Long.MAX_VALUE, Limit.of(50));
+            dailyStatsRepository.findProjectDays(1L, today.minusDays(30), today);
+            dailyStatsRepository.sumProjectBefore(1L, today.minusDays(30));
+            dailyStatsRepository.findUserDays(1L, today.minusDays(30), today);
+            dailyStatsRepository.sumUserBefore(1L, today.minusDays(30));
+        });
+    }
+
+    private void assertIndexed(Runnable queries) throws Exception {
+        STATEMENTS.clear();
+        transactionTemplate.executeWithoutResult(status -> queries.run());
+        List<String> statements = new ArrayList<>(STATEMENTS);
+        assertFalse(statements.isEmpty(), "no statements were recorded");
+
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            statement.execute("SET enable_hashjoin = off");
+            statement.execute("SET enable_mergejoin = off");
+            statement.execute("SET plan_cache_mode = force_generic_plan");
+            for (String sql : statements) {
+                String plan = explain(statement, sql);
+                String problem = findUnindexedScan(objectMapper.readTree(plan).get(0).get("Plan"));
+                if (problem != null) {
+                    fail(problem + " in\n" + sql + "\n" + plan);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generic plan of a statement with JDBC placeholders, as PostgreSQL would cache it.
+     */
+    private static String explain(Statement statement, String sql) throws SQLException {
+        StringBuilder numbered = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameters);
+            } else {
+                numbered.append(c);
+            }
+        }
+        statement.execute("PREPARE hot_query AS " + numbered);
+        try (ResultSet plan = statement.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE hot_query("
+                + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")")) {
+            plan.next();
+            return plan.getString(1);
+        } finally {
+            statement.execute("DEALLOCATE hot_query");
+        }
+    }
+
+    private static String findUnindexedScan(JsonNode node) {
+        String type = node.get("Node Type").asText();
+        if (type.equals("Seq Scan")) {
+            return "Sequential scan on " + node.get("Relation Name").asText();
+        }
+        if ((type.equals("Index Scan") || type.equals("Index Only Scan")) && !node.has("Index Cond")) {
+            return "Full scan of index " + node.get("Index Name").asText();
+        }
+        for (JsonNode child : node.path("Plans")) {
+            String problem = findUnindexedScan(child);
+            if (problem != null) {
+                return problem;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records the SQL of every statement the application prepares.
+     */
+    @TestConfiguration
+    static class StatementRecorder {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return proxy(dataSource, (method, args) -> {
+                            Object result = method.invoke(dataSource, args);
+                            return result instanceof Connection connection ? recording(connection) : result;
+                        });
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection recording(Connection connection) {
+            return (Connection) proxy(connection, (method, args) -> {
+                if (method.getName().equals("prepareStatement")) {
+                    String sql = ((String) args[0]).strip();
+                    String verb = sql.substring(0, Math.min(6, sql.length())).toLowerCase(Locale.ROOT);
+                    if (verb.equals("select") || verb.equals("update") || verb.equals("delete")) {
+                        STATEMENTS.add(sql);
+                    }
+                }
+                return method.invoke(connection, args);
+            });
+        }
+
+        /**
+         * Keeps every interface of the target, e.g. so the pool can still be closed and its metrics read.
+         */
+        private static Object proxy(Object target, Invocation invocation) {
+            return Proxy.newProxyInstance(target.getClass().getClassLoader(),
+                    ClassUtils.getAllInterfaces(target),
+                    (proxy, method, args) -> {
+                        try {
+                            return invocation.invoke(method, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        private interface Invocation {
+            Object invoke(Method method, Object[] args) throws Exception;
+        }
+    }
+}
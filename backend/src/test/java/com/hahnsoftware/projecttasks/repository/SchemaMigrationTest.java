@@ -0,0 +1,98 @@
+package com.hahnsoftware.projecttasks.repository;
+
+import com.hahnsoftware.projecttasks.model.Project;
+import com.hahnsoftware.projecttasks.model.Task;
+import com.hahnsoftware.projecttasks.model.User;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Upgrades a database as the application created it before migrations existed: the baseline
+ * schema with rows whose ids came from IDENTITY columns. The context only starts if the migrations
+ * bring it to a schema Hibernate validates, and new rows must get ids past the existing ones.
+ */
+@SpringBootTest(properties = {
+        "jwt.secret=schema-migration-test-secret-schema-migration-test",
+        "spring.jpa.show-sql=false",
+        "search.rebuild-on-startup=false",
+        "spring.jmx.enabled=false"
+})
+class SchemaMigrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline.sql"));
+            statement.execute("INSERT INTO users (email, password) VALUES ('legacy@example.com', 'hash')");
+            statement.execute("INSERT INTO projects (created_at, title, user_id) "
+                    + "SELECT now(), 'Project ' || g, 1 FROM generate_series(1, 120) g");
+            statement.execute("INSERT INTO tasks (completed, title, project_id) "
+                    + "SELECT g % 3 = 0, 'Task ' || g, 1 + g % 120 FROM generate_series(1, 700) g");
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void baselinesAndMigratesPreMigrationDatabase() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history ORDER BY installed_rank", String.class);
+        assertEquals("1", versions.get(0));
+        assertEquals(List.of("2", "3", "4", "5", "6"), versions.subList(1, versions.size()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findByEmail("LEGACY@example.com").orElseThrow();
+            Project project = new Project();
+            project.setTitle("After migration");
+            project.setUser(user);
+            projectRepository.saveAndFlush(project);
+            Task task = new Task();
+            task.setTitle("After migration");
+            task.setProject(project);
+            taskRepository.saveAndFlush(task);
+
+            assertTrue(project.getId() > 120, "project id " + project.getId() + " reuses a legacy id");
+            assertTrue(task.getId() > 700, "task id " + task.getId() + " reuses a legacy id");
+            assertEquals(0L, projectRepository.findById(1L).orElseThrow().getVersion());
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.hahnsoftware.projecttasks.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void allowsTheBurstThenReportsTheWait() {
+        // One request per second leaves no time for a refill while the test runs
+        RateLimiter limiter = new RateLimiter(1, 3, 1, 3, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(RateLimiter.Group.AUTH, "client"));
+        }
+        long wait = limiter.tryAcquire(RateLimiter.Group.AUTH, "client");
+
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1), "wait " + wait);
+    }
+
+    @Test
+    void rejectedRequestsDoNotDrainTheBucket() {
+        RateLimiter limiter = new RateLimiter(1, 1, 1, 1, meterRegistry);
+
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Group.API, "client"));
+        long first = limiter.tryAcquire(RateLimiter.Group.API, "client");
+        long second = limiter.tryAcquire(RateLimiter.Group.API, "client");
+
+        assertTrue(first > 0 && second > 0);
+        assertTrue(second <= first, "wait grew from " + first + " to " + second);
+    }
+
+    @Test
+    void keepsClientsAndGroupsApart() {
+        RateLimiter limiter = new RateLimiter(1, 1, 1, 1, meterRegistry);
+
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Group.AUTH, "a"));
+        assertTrue(limiter.tryAcquire(RateLimiter.Group.AUTH, "a") > 0);
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Group.AUTH, "b"));
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Group.API, "a"));
+    }
+
+    @Test
+    void zeroRateDisablesTheGroup() {
+        RateLimiter limiter = new RateLimiter(0, 1, 1, 1, meterRegistry);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, limiter.tryAcquire(RateLimiter.Group.AUTH, "client"));
+        }
+        assertEquals(0, buckets("auth"));
+    }
+
+    @Test
+    void sweepDropsOnlyFullBuckets() throws InterruptedException {
+        // Auth refills within a microsecond, API takes a second per request
+        RateLimiter limiter = new RateLimiter(1_000_000, 1, 1, 1, meterRegistry);
+        limiter.tryAcquire(RateLimiter.Group.AUTH, "client");
+        limiter.tryAcquire(RateLimiter.Group.API, "client");
+        assertEquals(1, buckets("auth"));
+        assertEquals(1, buckets("api"));
+
+        Thread.sleep(5);
+        limiter.sweep();
+
+        assertEquals(0, buckets("auth"));
+        assertEquals(1, buckets("api"));
+        assertTrue(limiter.tryAcquire(RateLimiter.Group.API, "client") > 0);
+    }
+
+    private double buckets(String group) {
+        return meterRegistry.get("rate_limit.buckets").tag("group", group).gauge().value();
+    }
+}
@@ -0,0 +1,149 @@
+package com.hahnsoftware.projecttasks.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActivityRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertEquals(4, new ActivityRingBuffer<>(4).capacity());
+        assertEquals(8, new ActivityRingBuffer<>(5).capacity());
+        assertEquals(1024, new ActivityRingBuffer<>(1000).capacity());
+    }
+
+    @Test
+    void rejectsWhenFullUntilDrained() {
+        ActivityRingBuffer<Integer> buffer = new ActivityRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(1, buffer.drainTo(drained, 1));
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+
+        drained.clear();
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(List.of(1, 2, 3, 4), drained);
+    }
+
+    @Test
+    void drainsInOfferOrderUpToMax() {
+        ActivityRingBuffer<String> buffer = new ActivityRingBuffer<>(8);
+        buffer.offer("a");
+        buffer.offer("b");
+        buffer.offer("c");
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertEquals(List.of("a", "b"), drained);
+        assertEquals(1, buffer.size());
+
+        assertEquals(1, buffer.drainTo(drained, 2));
+        assertEquals(List.of("a", "b", "c"), drained);
+        assertEquals(0, buffer.drainTo(drained, 2));
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void wrapsAroundOverManyLaps() {
+        ActivityRingBuffer<Integer> buffer = new ActivityRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        int next = 0;
+        int expected = 0;
+        // Three in, two out per round, so head and tail cross the slot boundary at different points
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 3; i++) {
+                if (buffer.offer(next)) {
+                    next++;
+                }
+            }
+            drained.clear();
+            buffer.drainTo(drained, 2);
+            for (Integer value : drained) {
+                assertEquals(expected++, value);
+            }
+        }
+        drained.clear();
+        buffer.drainTo(drained, Integer.MAX_VALUE);
+        for (Integer value : drained) {
+            assertEquals(expected++, value);
+        }
+        assertEquals(next, expected);
+        assertTrue(next > 4 * 20);
+    }
+
+    @Test
+    void concurrentProducersDeliverEverythingInPerProducerOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        ActivityRingBuffer<Long> buffer = new ActivityRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long base = (long) p * perProducer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        // Yield rather than spin so the drainer gets scheduled on small machines
+                        while (!buffer.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long[] lastSeen = new long[producers];
+            Arrays.fill(lastSeen, -1);
+            List<Long> batch = new ArrayList<>();
+            start.countDown();
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                int received = 0;
+                while (received < producers * perProducer) {
+                    batch.clear();
+                    int drained = buffer.drainTo(batch, 32);
+                    if (drained == 0) {
+                        Thread.yield();
+                    }
+                    received += drained;
+                    for (Long value : batch) {
+                        int producer = (int) (value / perProducer);
+                        long sequence = value % perProducer;
+                        assertEquals(lastSeen[producer] + 1, sequence);
+                        lastSeen[producer] = sequence;
+                    }
+                }
+            });
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            for (long last : lastSeen) {
+                assertEquals(perProducer - 1, last);
+            }
+            assertEquals(0, buffer.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
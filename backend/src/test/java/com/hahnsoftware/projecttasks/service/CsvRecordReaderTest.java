@@ -0,0 +1,83 @@
+package com.hahnsoftware.projecttasks.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readsPlainRecordsUntilEndOfInput() throws IOException {
+        CsvRecordReader reader = reader("a,b,c\n1,2,3");
+
+        assertEquals(List.of("a", "b", "c"), reader.next());
+        assertEquals(List.of("1", "2", "3"), reader.next());
+        assertNull(reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void distinguishesUnquotedAndQuotedEmptyFields() throws IOException {
+        CsvRecordReader reader = reader("a,,\"\",\n\n");
+
+        assertEquals(Arrays.asList("a", null, "", null), reader.next());
+        assertEquals(Arrays.asList((String) null), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void unquotesCommasDoubledQuotesAndLineBreaks() throws IOException {
+        CsvRecordReader reader = reader("\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\n");
+
+        assertEquals(List.of("x, y", "say \"hi\"", "two\nlines"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void keepsQuotesInsideUnquotedFields() throws IOException {
+        assertEquals(List.of("5\" nail", "b"), reader("5\" nail,b").next());
+    }
+
+    @Test
+    void acceptsCrLfAndBareCrLineEndings() throws IOException {
+        CsvRecordReader reader = reader("a,b\r\nc,d\re,f\r\n");
+
+        assertEquals(List.of("a", "b"), reader.next());
+        assertEquals(List.of("c", "d"), reader.next());
+        assertEquals(List.of("e", "f"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void tracksTheLineEachRecordStartsOn() throws IOException {
+        CsvRecordReader reader = reader("a\n\"multi\nline\",b\r\nc\n");
+
+        reader.next();
+        assertEquals(1, reader.getRecordStartLine());
+        assertEquals(List.of("multi\nline", "b"), reader.next());
+        assertEquals(2, reader.getRecordStartLine());
+        reader.next();
+        assertEquals(4, reader.getRecordStartLine());
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedField() throws IOException {
+        CsvRecordReader reader = reader("ok\nbad,\"never\nclosed");
+        reader.next();
+
+        IOException e = assertThrows(IOException.class, reader::next);
+        assertTrue(e.getMessage().contains("line 2"), e.getMessage());
+    }
+
+    private static CsvRecordReader reader(String input) {
+        return new CsvRecordReader(new StringReader(input));
+    }
+}
@@ -0,0 +1,120 @@
+package com.hahnsoftware.projecttasks.service;
+
+import com.hahnsoftware.projecttasks.dto.TaskSearchDocument;
+import com.hahnsoftware.projecttasks.dto.TaskSearchHit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskSearchIndexTest {
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    @Test
+    void tokenizesCaseInsensitivelyOnLettersAndDigits() {
+        Map<String, Integer> terms = TaskSearchIndex.tokenize("Fix login-bug #42, then LOGIN again", 1);
+
+        assertEquals(Map.of("fix", 1, "login", 2, "bug", 1, "42", 1, "then", 1, "again", 1), terms);
+        assertEquals(Map.of("title", 2), TaskSearchIndex.tokenize("Title", 2));
+        assertTrue(TaskSearchIndex.tokenize(null, 1).isEmpty());
+        assertTrue(TaskSearchIndex.tokenize(" -- ", 1).isEmpty());
+    }
+
+    @Test
+    void truncatesOverlongTerms() {
+        String longWord = "a".repeat(100);
+
+        assertEquals(Map.of("a".repeat(64), 1), TaskSearchIndex.tokenize(longWord, 1));
+    }
+
+    @Test
+    void onlySearchesTheCallersPartition() {
+        add(1L, 10L, 100L, "Shared word", null);
+        add(2L, 20L, 200L, "Shared word", null);
+
+        assertEquals(List.of(10L), taskIds(index.search(1L, "shared", 0, 10)));
+        assertEquals(List.of(20L), taskIds(index.search(2L, "shared", 0, 10)));
+        assertEquals(0, index.search(3L, "shared", 0, 10).total());
+        assertEquals(2, index.documentCount());
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        add(1L, 10L, 100L, "Groceries", "buy milk");
+        add(1L, 11L, 100L, "Milk", "from the farm");
+        add(1L, 12L, 100L, "Unrelated", "nothing here");
+
+        TaskSearchIndex.Result result = index.search(1L, "MILK", 0, 10);
+
+        assertEquals(2, result.total());
+        assertEquals(List.of(11L, 10L), taskIds(result));
+        assertTrue(result.hits().get(0).getScore() > result.hits().get(1).getScore());
+    }
+
+    @Test
+    void pagesTiesInTaskIdOrder() {
+        for (long taskId = 1; taskId <= 5; taskId++) {
+            add(1L, taskId, 100L, "same", null);
+        }
+
+        assertEquals(List.of(1L, 2L), taskIds(index.search(1L, "same", 0, 2)));
+        assertEquals(List.of(3L, 4L), taskIds(index.search(1L, "same", 2, 2)));
+        assertEquals(List.of(5L), taskIds(index.search(1L, "same", 4, 2)));
+
+        TaskSearchIndex.Result pastEnd = index.search(1L, "same", 5, 2);
+        assertEquals(5, pastEnd.total());
+        assertTrue(pastEnd.hits().isEmpty());
+    }
+
+    @Test
+    void upsertReplacesPreviousText() {
+        add(1L, 10L, 100L, "Old title", null);
+        add(1L, 10L, 100L, "New title", null);
+
+        assertEquals(0, index.search(1L, "old", 0, 10).total());
+        assertEquals(List.of(10L), taskIds(index.search(1L, "new", 0, 10)));
+        assertEquals(1, index.partition(1L).size());
+    }
+
+    @Test
+    void removesTasksAndWholeProjects() {
+        add(1L, 10L, 100L, "alpha", null);
+        add(1L, 11L, 100L, "alpha", null);
+        add(1L, 12L, 101L, "alpha", null);
+
+        index.partition(1L).remove(10L);
+        index.partition(1L).remove(99L);
+        assertEquals(List.of(11L, 12L), taskIds(index.search(1L, "alpha", 0, 10)));
+
+        index.partition(1L).removeProject(100L);
+        assertEquals(List.of(12L), taskIds(index.search(1L, "alpha", 0, 10)));
+        assertEquals(1, index.documentCount());
+    }
+
+    @Test
+    void keepsResultsAfterCompaction() {
+        for (long taskId = 0; taskId < 3000; taskId++) {
+            add(1L, taskId, 100L, taskId % 2 == 0 ? "even" : "odd", "task " + taskId);
+        }
+        for (long taskId = 0; taskId < 2500; taskId++) {
+            index.partition(1L).remove(taskId);
+        }
+
+        assertEquals(500, index.partition(1L).size());
+        assertEquals(250, index.search(1L, "even", 0, 1000).total());
+        assertEquals(List.of(2999L), taskIds(index.search(1L, "2999", 0, 10)));
+        assertEquals(0, index.search(1L, "42", 0, 10).total());
+    }
+
+    private void add(Long userId, Long taskId, Long projectId, String title, String description) {
+        index.partition(userId).upsert(new TaskSearchDocument(taskId, projectId, userId, title, description));
+    }
+
+    private static List<Long> taskIds(TaskSearchIndex.Result result) {
+        return result.hits().stream().map(TaskSearchHit::getTaskId).toList();
+    }
+}
@@ -73,5 +73,23 @@ api.interceptors.response.use(
   }
 );
 
+/**
+ * Récupère toutes les pages d'une liste paginée par curseur (keyset).
+ * Le backend renvoie le curseur de la page suivante dans l'en-tête X-Next-Cursor,
+ * absent sur la dernière page.
+ * @param {string} url - URL de la liste
+ * @returns {Promise<Array>} Tous les éléments, dans l'ordre
+ */
+export const getAllPages = async (url) => {
+  const items = [];
+  let cursor = null;
+  do {
+    const response = await api.get(url, { params: cursor ? { cursor } : {} });
+    items.push(...response.data);
+    cursor = response.headers['x-next-cursor'] || null;
+  } while (cursor);
+  return items;
+};
+
 export default api;
 
@@ -1,4 +1,4 @@
-import api from './api';
+import api, { getAllPages } from './api';
 
 /**
  * Service de gestion des projets
@@ -11,8 +11,7 @@ const projectService = {
    */
   getAllProjects: async () => {
     try {
-      const response = await api.get('/projects');
-      return response.data;
+      return await getAllPages('/projects');
     } catch (error) {
       throw error.response?.data || { message: 'Erreur lors de la récupération des projets' };
     }
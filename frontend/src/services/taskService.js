@@ -1,4 +1,4 @@
-import api from './api';
+import api, { getAllPages } from './api';
 
 /**
  * Service de gestion des tâches
@@ -12,8 +12,7 @@ const taskService = {
    */
   getAllTasks: async (projectId) => {
     try {
-      const response = await api.get(`/projects/${projectId}/tasks`);
-      return response.data;
+      return await getAllPages(`/projects/${projectId}/tasks`);
     } catch (error) {
       throw error.response?.data || { message: 'Erreur lors de la récupération des tâches' };
     }